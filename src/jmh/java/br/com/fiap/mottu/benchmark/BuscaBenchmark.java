@@ -0,0 +1,93 @@
+package br.com.fiap.mottu.benchmark;
+
+import br.com.fiap.mottu.dto.BuscaPaginaDTO;
+import br.com.fiap.mottu.dto.UsuarioBuscaDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.service.UsuarioBuscaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Latência da busca em memória com 1 milhão de usuários, de termos raros (placa
+// completa) a prefixos curtos que esbarram no limite de candidatos
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class BuscaBenchmark {
+
+    private static final int USUARIOS = 1_000_000;
+    private static final String[] NOMES = {"João", "Maria", "José", "Ana", "Pedro", "Paula", "Lucas", "Juliana",
+            "Carlos", "Fernanda", "Rafael", "Camila", "Bruno", "Beatriz", "Gustavo", "Larissa"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Pereira", "Lima",
+            "Carvalho", "Ferreira", "Rodrigues", "Almeida", "Costa", "Gomes", "Martins", "Araújo"};
+    private static final String[][] CIDADES = {{"São Paulo", "SP"}, {"Campinas", "SP"}, {"Rio de Janeiro", "RJ"},
+            {"Belo Horizonte", "MG"}, {"Curitiba", "PR"}, {"Salvador", "BA"}, {"Recife", "PE"}, {"Fortaleza", "CE"}};
+
+    @Param({"ABC1D23", "maria", "maria souza", "jul sant campinas", "fer"})
+    String consulta;
+
+    private UsuarioBuscaService busca;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        busca = new UsuarioBuscaService(null, null);
+        List<Usuario> lote = new ArrayList<>(10_000);
+        for (int i = 0; i < USUARIOS; i++) {
+            lote.add(usuario(i, random));
+            if (lote.size() == 10_000) {
+                busca.salvos(lote);
+                lote.clear();
+            }
+        }
+        busca.salvos(lote);
+        busca.salvo(usuario(USUARIOS, "Maria Souza", "ABC1D23", CIDADES[1]));
+    }
+
+    @Benchmark
+    public BuscaPaginaDTO<UsuarioBuscaDTO> buscar() {
+        return busca.buscar(consulta, null, 0, 20);
+    }
+
+    private static Usuario usuario(int i, Random random) {
+        String nome = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+        String placa = "" + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26))
+                + (char) ('A' + random.nextInt(26)) + random.nextInt(10) + (char) ('A' + random.nextInt(26))
+                + random.nextInt(10) + random.nextInt(10);
+        return usuario(i, nome, placa, CIDADES[random.nextInt(CIDADES.length)]);
+    }
+
+    private static Usuario usuario(int i, String nome, String placa, String[] cidade) {
+        Endereco e = new Endereco();
+        e.setCidade(cidade[0]);
+        e.setEstado(cidade[1]);
+        Moto m = new Moto();
+        m.setPlaca(placa);
+        Usuario u = new Usuario();
+        u.setCpf(Dados.cpf(i));
+        u.setNome(nome);
+        u.setEndereco(e);
+        u.setPlaca(m);
+        return u;
+    }
+}
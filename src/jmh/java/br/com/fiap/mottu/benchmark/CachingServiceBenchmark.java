@@ -0,0 +1,121 @@
+package br.com.fiap.mottu.benchmark;
+
+import br.com.fiap.mottu.cache.ConfiguravelCacheManager;
+import br.com.fiap.mottu.config.CacheProperties;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.repositories.UsuarioRepository;
+import br.com.fiap.mottu.service.UsuarioBuscaService;
+import br.com.fiap.mottu.service.UsuarioCachingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Leituras no UsuarioCachingService (DiretorioUsuarios no ConfiguravelCacheManager)
+// com 8 threads disputando as mesmas chaves, para cada política de cache
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CachingServiceBenchmark {
+
+    private static final int USUARIOS = 1_000;
+
+    @Param({"W_TINY_LFU", "LRU"})
+    String politica;
+
+    private AnnotationConfigApplicationContext contexto;
+    private UsuarioCachingService cachingService;
+    private List<Usuario> base;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        base = LongStream.range(0, USUARIOS).mapToObj(Dados::usuario).toList();
+
+        CacheProperties props = new CacheProperties();
+        props.getPadrao().setPolitica(CacheProperties.Politica.valueOf(politica));
+
+        UsuarioRepository repository = mock(UsuarioRepository.class);
+        when(repository.diretorio(any(Limit.class))).thenAnswer(inv -> new ArrayList<>(base));
+
+        contexto = new AnnotationConfigApplicationContext();
+        contexto.registerBean(CacheManager.class,
+                () -> new ConfiguravelCacheManager(props, ConfiguravelCacheManager.nomesPadrao()));
+        contexto.registerBean(UsuarioRepository.class, () -> repository);
+        contexto.register(Config.class);
+        contexto.refresh();
+        cachingService = contexto.getBean(UsuarioCachingService.class);
+
+        base.forEach(u -> cachingService.findById(u.getCpf()));
+        cachingService.cacheFindAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<Usuario> findById() {
+        return cachingService.findById(base.get(ThreadLocalRandom.current().nextInt(USUARIOS)).getCpf());
+    }
+
+    @Benchmark
+    public List<Usuario> cacheFindAll() {
+        return cachingService.cacheFindAll();
+    }
+
+    // 95% leituras por CPF, 5% salvo(): mede a disputa no monitor de corrigirDiretorio
+    @Benchmark
+    public Object misto95x5() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Usuario u = base.get(random.nextInt(USUARIOS));
+        if (random.nextInt(100) < 5) return cachingService.salvo(u);
+        return cachingService.findById(u.getCpf());
+    }
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        UsuarioCachingService usuarioCachingService() {
+            return new UsuarioCachingService();
+        }
+
+        @Bean
+        UsuarioBuscaService usuarioBuscaService() {
+            return new UsuarioBuscaService(null, null);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.fiap.mottu.benchmark;
+
+import br.com.fiap.mottu.dto.EnderecoDTO;
+import br.com.fiap.mottu.dto.FuncionarioDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Role;
+import br.com.fiap.mottu.models.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Set;
+
+// Objetos de exemplo compartilhados pelos benchmarks
+final class Dados {
+
+    private Dados() {}
+
+    static String cpf(long i) {
+        return String.format("%011d", i);
+    }
+
+    static Endereco endereco(long i) {
+        Endereco e = new Endereco();
+        e.setCep(1_000_000L + i);
+        e.setPais("Brasil");
+        e.setEstado("SP");
+        e.setCidade("São Paulo");
+        e.setBairro("Consolação");
+        e.setNumero(100 + i);
+        e.setLogradouro("Av. Paulista");
+        e.setComplemento("Andar " + i);
+        return e;
+    }
+
+    static Funcionario funcionario(long i) {
+        Role admin = new Role();
+        admin.setId(1L);
+        admin.setNome("ROLE_ADMIN");
+        Role user = new Role();
+        user.setId(2L);
+        user.setNome("ROLE_USER");
+
+        Funcionario f = new Funcionario();
+        f.setId(i);
+        f.setNome("Funcionário " + i);
+        f.setCpf(cpf(i));
+        f.setSenha("$2a$10$abcdefghijklmnopqrstuuL1pB4cQGqvQy3v0hS3f0n5yJ6C7kZ7e");
+        f.setEndereco(endereco(i));
+        f.setRoles(Set.of(admin, user));
+        f.setCriadoEm(LocalDateTime.of(2025, 1, 1, 8, 0));
+        f.setAtualizadoEm(LocalDateTime.of(2025, 6, 1, 8, 0));
+        return f;
+    }
+
+    static FuncionarioDTO funcionarioDTO(long i) {
+        Endereco e = endereco(i);
+        return new FuncionarioDTO("Funcionário " + i, cpf(i), "Senha123",
+                new EnderecoDTO(e.getCep(), e.getPais(), e.getEstado(), e.getCidade(),
+                        e.getBairro(), e.getNumero(), e.getLogradouro(), e.getComplemento()));
+    }
+
+    static Usuario usuario(long i) {
+        Moto m = new Moto();
+        m.setPlaca("ABC" + (1000 + i));
+        m.setCpf(cpf(i));
+        m.setNiv("9BWZZZ377VT004251");
+        m.setMotor("CG160" + i);
+        m.setRenavam(12_345_678L + i);
+        m.setFipe(9_200L);
+
+        Usuario u = new Usuario();
+        u.setCpf(cpf(i));
+        u.setNome("Usuário " + i);
+        u.setDataNascimento(new Date(0));
+        u.setEndereco(endereco(i));
+        u.setPlaca(m);
+        u.setCriadoEm(LocalDateTime.of(2025, 1, 1, 8, 0));
+        u.setAtualizadoEm(LocalDateTime.of(2025, 6, 1, 8, 0));
+        return u;
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.fiap.mottu.benchmark;
+
+import br.com.fiap.mottu.dto.EnderecoDTO;
+import br.com.fiap.mottu.dto.FuncionarioDTO;
+import br.com.fiap.mottu.dto.UsuarioDTO;
+import br.com.fiap.mottu.mapper.FuncionarioMapper;
+import br.com.fiap.mottu.mapper.FuncionarioMapperImpl;
+import br.com.fiap.mottu.mapper.UsuarioMapper;
+import br.com.fiap.mottu.mapper.UsuarioMapperImpl;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Mapeamento DTO -> entidade de cadastro/atualizar: BeanUtils.copyProperties
+// (como os controllers faziam), atribuição manual e os mappers MapStruct
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeamentoBenchmark {
+
+    private final FuncionarioMapper funcionarioMapper = new FuncionarioMapperImpl();
+    private final UsuarioMapper usuarioMapper = new UsuarioMapperImpl();
+
+    private final FuncionarioDTO dto = Dados.funcionarioDTO(1);
+    private final Funcionario existente = Dados.funcionario(1);
+    private final Usuario usuario = Dados.usuario(1);
+    private final UsuarioDTO usuarioDTO = new UsuarioDTO(usuario.getCpf(), usuario.getEndereco(),
+            usuario.getPlaca(), usuario.getDataNascimento(), usuario.getNome());
+    private final Usuario usuarioExistente = Dados.usuario(1);
+
+    // ===== FuncionarioController.cadastro =====
+
+    @Benchmark
+    public Funcionario cadastroBeanUtils() {
+        var funcionario = new Funcionario();
+        BeanUtils.copyProperties(dto, funcionario, "endereco");
+        var endereco = new Endereco();
+        BeanUtils.copyProperties(dto.endereco(), endereco);
+        funcionario.setEndereco(endereco);
+        return funcionario;
+    }
+
+    @Benchmark
+    public Funcionario cadastroManual() {
+        var funcionario = new Funcionario();
+        funcionario.setNome(dto.nome());
+        funcionario.setCpf(dto.cpf());
+        funcionario.setSenha(dto.senha());
+
+        EnderecoDTO e = dto.endereco();
+        var endereco = new Endereco();
+        endereco.setCep(e.cep());
+        endereco.setPais(e.pais());
+        endereco.setEstado(e.estado());
+        endereco.setCidade(e.cidade());
+        endereco.setBairro(e.bairro());
+        endereco.setNumero(e.numero());
+        endereco.setLogradouro(e.logradouro());
+        endereco.setComplemento(e.complemento());
+        funcionario.setEndereco(endereco);
+        return funcionario;
+    }
+
+    @Benchmark
+    public Funcionario cadastroMapStruct() {
+        return funcionarioMapper.toEntity(dto);
+    }
+
+    // ===== FuncionarioController.atualizar =====
+
+    @Benchmark
+    public Funcionario atualizarBeanUtils() {
+        BeanUtils.copyProperties(dto, existente, "id", "endereco");
+        BeanUtils.copyProperties(dto.endereco(), existente.getEndereco());
+        return existente;
+    }
+
+    @Benchmark
+    public Funcionario atualizarMapStruct() {
+        funcionarioMapper.atualizar(dto, existente);
+        return existente;
+    }
+
+    // ===== UsuarioController.cadastro / atualizar =====
+
+    @Benchmark
+    public Usuario usuarioCadastroBeanUtils() {
+        Usuario u = new Usuario();
+        BeanUtils.copyProperties(usuarioDTO, u);
+        return u;
+    }
+
+    @Benchmark
+    public Usuario usuarioCadastroMapStruct() {
+        return usuarioMapper.toEntity(usuarioDTO);
+    }
+
+    @Benchmark
+    public Usuario usuarioAtualizarBeanUtils() {
+        BeanUtils.copyProperties(usuarioDTO, usuarioExistente);
+        return usuarioExistente;
+    }
+
+    @Benchmark
+    public Usuario usuarioAtualizarMapStruct() {
+        usuarioMapper.atualizar(usuarioDTO, usuarioExistente);
+        return usuarioExistente;
+    }
+}
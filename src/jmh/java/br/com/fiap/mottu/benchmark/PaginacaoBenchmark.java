@@ -0,0 +1,64 @@
+package br.com.fiap.mottu.benchmark;
+
+import br.com.fiap.mottu.dto.FuncionarioDTO;
+import br.com.fiap.mottu.mapper.FuncionarioMapperImpl;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.service.FuncionarioCachingService;
+import br.com.fiap.mottu.service.FuncionarioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Custo de FuncionarioService.paginar com a página já em cache: só o mapeamento
+// entidade -> FuncionarioDTO (sem banco, sem proxy transacional)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaginacaoBenchmark {
+
+    @Param({"20", "100"})
+    int tamanho;
+
+    private FuncionarioService service;
+    private PageRequest req;
+
+    @Setup
+    public void preparar() {
+        req = PageRequest.of(0, tamanho);
+        List<Funcionario> funcionarios = LongStream.range(0, tamanho).mapToObj(Dados::funcionario).toList();
+        Page<Funcionario> pagina = new PageImpl<>(funcionarios, req, 10_000);
+
+        service = new FuncionarioService();
+        ReflectionTestUtils.setField(service, "mapper", new FuncionarioMapperImpl());
+        ReflectionTestUtils.setField(service, "cachingService", new FuncionarioCachingService() {
+            @Override
+            public Page<Funcionario> findAll(PageRequest req) {
+                return pagina;
+            }
+        });
+    }
+
+    @Benchmark
+    public Page<FuncionarioDTO> paginar() {
+        return service.paginar(req);
+    }
+}
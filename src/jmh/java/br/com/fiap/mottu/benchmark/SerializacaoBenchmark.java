@@ -0,0 +1,99 @@
+package br.com.fiap.mottu.benchmark;
+
+import br.com.fiap.mottu.cache.RespostasSerializadas;
+import br.com.fiap.mottu.dto.FuncionarioDTO;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Usuario;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Jackson nos grafos devolvidos pela API. Funcionario estende RepresentationModel:
+// "funcionarioComLinks" mede o peso dos links HATEOAS sobre a mesma entidade.
+// "listaPreSerializada*" é o /todos com acerto no RespostasSerializadas.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    // Mesmos módulos que o Spring Boot registra (java.time para as colunas de auditoria)
+    private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+
+    private Usuario usuario;
+    private Funcionario funcionario;
+    private Funcionario funcionarioComLinks;
+    private FuncionarioDTO funcionarioDTO;
+    private List<Funcionario> lista;
+    private RespostasSerializadas respostas;
+
+    @Setup
+    public void preparar() {
+        usuario = Dados.usuario(1);
+        funcionario = Dados.funcionario(1);
+        funcionarioDTO = Dados.funcionarioDTO(1);
+
+        funcionarioComLinks = Dados.funcionario(1);
+        funcionarioComLinks.add(Link.of("http://localhost:8080/funcionarios/1").withSelfRel());
+        funcionarioComLinks.add(Link.of("http://localhost:8080/funcionarios/todos").withRel("listar-funcionarios"));
+        funcionarioComLinks.add(Link.of("http://localhost:8080/funcionarios/1").withRel("deletar-funcionario"));
+
+        lista = LongStream.range(0, 100).mapToObj(Dados::funcionario).toList();
+        respostas = new RespostasSerializadas(mapper, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public byte[] usuario() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(usuario);
+    }
+
+    @Benchmark
+    public byte[] funcionario() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(funcionario);
+    }
+
+    @Benchmark
+    public byte[] funcionarioComLinks() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(funcionarioComLinks);
+    }
+
+    @Benchmark
+    public byte[] funcionarioDTO() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(funcionarioDTO);
+    }
+
+    // GET /funcionarios/todos com 100 registros
+    @Benchmark
+    public byte[] listaDeFuncionarios() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> listaPreSerializada() {
+        return respostas.json("funcionarios", "\"v1\"", lista, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> listaPreSerializadaGzip() {
+        return respostas.json("funcionarios", "\"v1\"", lista, "gzip, deflate, br");
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.fiap.mottu.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.TimeUnit;
+
+// Liga os caches do ConfiguravelCacheManager ao Micrometer. O provider padrão do
+// Spring Boot não reconhece o LruCache nem o decorator de renovação antecipada.
+public class CacheMetricasProvider implements CacheMeterBinderProvider<Cache> {
+
+    @Override
+    public MeterBinder getMeterBinder(Cache cache, Iterable<Tag> tags) {
+        if (cache instanceof RenovacaoAntecipadaCache renovacao) {
+            cache = renovacao.alvo();
+        }
+        if (cache instanceof CaffeineCache caffeine) {
+            return caffeine(caffeine, tags);
+        }
+        if (cache instanceof LruCache lru) {
+            return new LruCacheMetrics(lru, tags);
+        }
+        return null;
+    }
+
+    // CaffeineCacheMetrics só publica cache.load* para LoadingCache, mas o CaffeineCache
+    // do Spring carrega via get(key, loader) num Cache comum; as estatísticas existem
+    private MeterBinder caffeine(CaffeineCache cache, Iterable<Tag> tags) {
+        var nativo = cache.getNativeCache();
+        MeterBinder padrao = new CaffeineCacheMetrics<>(nativo, cache.getName(), tags);
+        if (nativo instanceof LoadingCache) return padrao;
+
+        Tags comNome = Tags.of(tags).and("cache", cache.getName());
+        return registry -> {
+            padrao.bindTo(registry);
+            FunctionCounter.builder("cache.load", nativo, c -> c.stats().loadSuccessCount())
+                    .tags(comNome).tag("result", "success")
+                    .description("Cargas executadas pelo loader após uma falta")
+                    .register(registry);
+            FunctionCounter.builder("cache.load", nativo, c -> c.stats().loadFailureCount())
+                    .tags(comNome).tag("result", "failure")
+                    .description("Cargas que lançaram exceção")
+                    .register(registry);
+            TimeGauge.builder("cache.load.duration", nativo, TimeUnit.NANOSECONDS, c -> c.stats().totalLoadTime())
+                    .tags(comNome)
+                    .description("Tempo total gasto carregando valores")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.fiap.mottu.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Junta faltas concorrentes de chaves diferentes numa única carga em lote. A primeira
+// chamada abre o lote e espera até `janela` (ou até o lote encher); quem chegar nesse
+// intervalo entra no mesmo lote e recebe o resultado da mesma consulta. Roda na thread
+// de quem abriu o lote: não há executor próprio. Chave ausente no resultado vira null.
+public class CargaAgrupada<K, V> {
+
+    private final Function<Collection<K>, Map<K, V>> carga;
+    private final long janelaNanos;
+    private final int maximoLote;
+
+    // Lote aceitando chaves; null quando nenhum está aberto. Protegido por this
+    private Lote<K, V> aberto;
+
+    public CargaAgrupada(Function<Collection<K>, Map<K, V>> carga, Duration janela, int maximoLote) {
+        this.carga = carga;
+        this.janelaNanos = janela.toNanos();
+        this.maximoLote = maximoLote;
+    }
+
+    public V carregar(K chave) {
+        Lote<K, V> lote;
+        CompletableFuture<V> resultado;
+        boolean lider;
+        synchronized (this) {
+            lider = aberto == null;
+            if (lider) aberto = new Lote<>();
+            lote = aberto;
+            resultado = lote.pedidos.computeIfAbsent(chave, k -> new CompletableFuture<>());
+            if (lote.pedidos.size() >= maximoLote) {
+                aberto = null;
+                notifyAll();
+            }
+        }
+        if (lider) {
+            aguardarEFechar(lote);
+            executar(lote);
+        }
+        try {
+            return resultado.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException r) throw r;
+            if (ex.getCause() instanceof Error e) throw e;
+            throw ex;
+        }
+    }
+
+    private synchronized void aguardarEFechar(Lote<K, V> lote) {
+        long limite = System.nanoTime() + janelaNanos;
+        long restante = janelaNanos;
+        boolean interrompida = false;
+        while (aberto == lote && restante > 0) {
+            try {
+                wait(restante / 1_000_000, (int) (restante % 1_000_000));
+            } catch (InterruptedException ex) {
+                interrompida = true;
+                break;
+            }
+            restante = limite - System.nanoTime();
+        }
+        if (aberto == lote) aberto = null;
+        if (interrompida) Thread.currentThread().interrupt();
+    }
+
+    // Depois de fechado, ninguém mais altera lote.pedidos
+    private void executar(Lote<K, V> lote) {
+        try {
+            Map<K, V> valores = carga.apply(new ArrayList<>(lote.pedidos.keySet()));
+            lote.pedidos.forEach((k, f) -> f.complete(valores.get(k)));
+        } catch (Throwable ex) {
+            // Inclusive Error: quem espera no lote não pode ficar preso
+            lote.pedidos.values().forEach(f -> f.completeExceptionally(ex));
+        }
+    }
+
+    private static final class Lote<K, V> {
+        final Map<K, CompletableFuture<V>> pedidos = new LinkedHashMap<>();
+    }
+}
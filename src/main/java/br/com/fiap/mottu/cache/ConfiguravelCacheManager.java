@@ -0,0 +1,79 @@
+package br.com.fiap.mottu.cache;
+
+import br.com.fiap.mottu.config.CacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Cria cada cache com limite de tamanho, TTL/ociosidade, política (W-TinyLFU ou LRU)
+// e renovação antecipada opcional, lidos de mottu.cache.*. Caches não declarados
+// usam a especificação padrão.
+public class ConfiguravelCacheManager extends AbstractCacheManager {
+
+    private final CacheProperties properties;
+    private final Collection<String> nomesIniciais;
+    private final ThreadPoolExecutor renovacaoExecutor = criarExecutorDeRenovacao();
+
+    public ConfiguravelCacheManager(CacheProperties properties, Collection<String> nomesIniciais) {
+        this.properties = properties;
+        this.nomesIniciais = nomesIniciais;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return nomesIniciais.stream().map(this::criarCache).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return criarCache(name);
+    }
+
+    private Cache criarCache(String nome) {
+        CacheProperties.Especificacao spec = properties.especificacao(nome);
+        Cache cache = criarCacheBase(nome, spec);
+        if (spec.getRenovarAposEscrita() != null) {
+            return new RenovacaoAntecipadaCache(cache, spec.getRenovarAposEscrita(), renovacaoExecutor);
+        }
+        return cache;
+    }
+
+    private Cache criarCacheBase(String nome, CacheProperties.Especificacao spec) {
+        if (spec.getPolitica() == CacheProperties.Politica.LRU) {
+            return new LruCache(nome, spec.getTamanhoMaximo(), spec.getExpirarAposEscrita(), spec.getExpirarAposAcesso());
+        }
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getTamanhoMaximo())
+                .recordStats();
+        if (spec.getExpirarAposEscrita() != null) builder.expireAfterWrite(spec.getExpirarAposEscrita());
+        if (spec.getExpirarAposAcesso() != null) builder.expireAfterAccess(spec.getExpirarAposAcesso());
+        return new CaffeineCache(nome, builder.build());
+    }
+
+    private static ThreadPoolExecutor criarExecutorDeRenovacao() {
+        AtomicInteger contador = new AtomicInteger();
+        // Poucas threads e fila curta: se lotar, a renovação é só adiada para a próxima leitura
+        return new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64), r -> {
+            Thread t = new Thread(r, "cache-renovacao-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static List<String> nomesPadrao() {
+        return List.of(
+                "usuariosFindAll",
+                "funcionariosFindAll", "funcionariosFindById", "funcionariosFindByPage",
+                "funcionariosUserDetails",
+                "motosPorNiv", "motosPorRenavam");
+    }
+}
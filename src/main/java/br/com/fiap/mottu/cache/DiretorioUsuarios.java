@@ -0,0 +1,478 @@
+package br.com.fiap.mottu.cache;
+
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.utils.Cpf;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cópia somente leitura de todos os usuários (com endereço e moto), imutável e compacta.
+//
+// As linhas ficam ordenadas por CPF em blocos colunares: um array por campo, com o CPF
+// (canônico, como número), os Long (cep, número, renavam, fipe) e as datas em long[]; a busca
+// por CPF é uma busca binária nesses long[], sem boxing. País, estado, cidade e bairro, que se
+// repetem entre linhas, são guardados uma única vez (Dicionario). Não há entidade retida: usuarios() e
+// buscar() montam objetos novos a cada leitura, que o chamador pode alterar à vontade.
+//
+// com()/sem() devolvem um novo diretório que reaproveita todos os blocos menos o alterado,
+// então uma escrita copia só um bloco (até LIMITE_BLOCO linhas) e o array de blocos.
+public final class DiretorioUsuarios {
+
+    static final int TAMANHO_BLOCO = 256;
+    // Um bloco que passa disso numa inserção é dividido em dois
+    static final int LIMITE_BLOCO = 2 * TAMANHO_BLOCO;
+
+    private final Bloco[] blocos;
+    // Posição (exclusiva) em que cada bloco termina na lista completa
+    private final int[] fins;
+    // Compartilhado entre as versões derivadas; uma carga completa começa outro
+    private final Dicionario dicionario;
+    private final List<Usuario> usuarios = new Visao();
+
+    private DiretorioUsuarios(Bloco[] blocos, Dicionario dicionario) {
+        this.blocos = blocos;
+        this.dicionario = dicionario;
+        this.fins = new int[blocos.length];
+        int total = 0;
+        for (int i = 0; i < blocos.length; i++) {
+            total += blocos[i].tamanho;
+            fins[i] = total;
+        }
+    }
+
+    public static Construtor construtor() {
+        return new Construtor();
+    }
+
+    // Em qualquer ordem; CPF repetido fica com a última ocorrência
+    public static DiretorioUsuarios de(Collection<Usuario> usuarios) {
+        TreeMap<Long, Usuario> porCpf = new TreeMap<>();
+        usuarios.forEach(u -> porCpf.put(Cpf.numero(u.getCpf()), u));
+        Construtor construtor = construtor();
+        porCpf.values().forEach(construtor::adicionar);
+        return construtor.construir();
+    }
+
+    public int tamanho() {
+        return fins.length == 0 ? 0 : fins[fins.length - 1];
+    }
+
+    // Ordenada por CPF; a mesma instância enquanto o diretório não muda (serve de identidade no ETag)
+    public List<Usuario> usuarios() {
+        return usuarios;
+    }
+
+    public Optional<Usuario> buscar(long cpf) {
+        int b = bloco(cpf);
+        if (b < 0) return Optional.empty();
+        int i = blocos[b].posicao(cpf);
+        return i < 0 ? Optional.empty() : Optional.of(blocos[b].usuario(i));
+    }
+
+    // Inclui ou substitui pelo CPF (IllegalArgumentException se não for um CPF válido)
+    public DiretorioUsuarios com(Usuario usuario) {
+        long cpf = Cpf.numero(usuario.getCpf());
+        if (blocos.length == 0) {
+            return new DiretorioUsuarios(new Bloco[] {Bloco.de(List.of(usuario), dicionario)}, dicionario);
+        }
+        int b = Math.max(bloco(cpf), 0);
+        Bloco bloco = blocos[b];
+        int i = bloco.posicao(cpf);
+        Bloco alterado = i >= 0 ? bloco.substituir(i, usuario, dicionario) : bloco.inserir(-i - 1, usuario, dicionario);
+
+        if (alterado.tamanho <= LIMITE_BLOCO) {
+            Bloco[] novos = blocos.clone();
+            novos[b] = alterado;
+            return new DiretorioUsuarios(novos, dicionario);
+        }
+        int meio = alterado.tamanho / 2;
+        Bloco[] novos = new Bloco[blocos.length + 1];
+        System.arraycopy(blocos, 0, novos, 0, b);
+        novos[b] = alterado.trecho(0, meio);
+        novos[b + 1] = alterado.trecho(meio, alterado.tamanho);
+        System.arraycopy(blocos, b + 1, novos, b + 2, blocos.length - b - 1);
+        return new DiretorioUsuarios(novos, dicionario);
+    }
+
+    public DiretorioUsuarios sem(long cpf) {
+        int b = bloco(cpf);
+        if (b < 0) return this;
+        Bloco bloco = blocos[b];
+        int i = bloco.posicao(cpf);
+        if (i < 0) return this;
+
+        if (bloco.tamanho == 1) {
+            Bloco[] novos = new Bloco[blocos.length - 1];
+            System.arraycopy(blocos, 0, novos, 0, b);
+            System.arraycopy(blocos, b + 1, novos, b, blocos.length - b - 1);
+            return new DiretorioUsuarios(novos, dicionario);
+        }
+        Bloco[] novos = blocos.clone();
+        novos[b] = bloco.remover(i);
+        return new DiretorioUsuarios(novos, dicionario);
+    }
+
+    int quantidadeBlocos() {
+        return blocos.length;
+    }
+
+    Object blocoEm(int indice) {
+        return blocos[indice];
+    }
+
+    int textosDistintos() {
+        return dicionario.tamanho();
+    }
+
+    // Último bloco cujo primeiro CPF é <= cpf (-1 se o cpf vem antes de todos)
+    private int bloco(long cpf) {
+        int baixo = 0;
+        int alto = blocos.length - 1;
+        int achado = -1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (blocos[meio].cpf[0] <= cpf) {
+                achado = meio;
+                baixo = meio + 1;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        return achado;
+    }
+
+    private final class Visao extends AbstractList<Usuario> implements RandomAccess {
+
+        @Override
+        public Usuario get(int indice) {
+            if (indice < 0 || indice >= tamanho()) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fora de 0.." + tamanho());
+            }
+            int b = Arrays.binarySearch(fins, indice);
+            b = b >= 0 ? b + 1 : -b - 1;
+            return blocos[b].usuario(indice - (b == 0 ? 0 : fins[b - 1]));
+        }
+
+        @Override
+        public int size() {
+            return tamanho();
+        }
+
+        // Percorre bloco a bloco, sem a busca de get()
+        @Override
+        public Iterator<Usuario> iterator() {
+            return new Iterator<>() {
+                private int b;
+                private int i;
+
+                @Override
+                public boolean hasNext() {
+                    return b < blocos.length;
+                }
+
+                @Override
+                public Usuario next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    Usuario u = blocos[b].usuario(i);
+                    if (++i == blocos[b].tamanho) {
+                        b++;
+                        i = 0;
+                    }
+                    return u;
+                }
+            };
+        }
+    }
+
+    // Recebe os usuários em ordem crescente de CPF (como numa leitura paginada por CPF).
+    // Com CPFs canônicos a ordem do texto e a do número coincidem; um CPF fora do padrão
+    // não tem chave e fica de fora (contado em ignorados())
+    public static final class Construtor {
+
+        private final Dicionario dicionario = new Dicionario();
+        private final List<Bloco> blocos = new ArrayList<>();
+        private final List<Usuario> pendentes = new ArrayList<>(TAMANHO_BLOCO);
+        private long ultimo = Cpf.INVALIDO;
+        private int ignorados;
+
+        private Construtor() {}
+
+        public Construtor adicionar(Usuario usuario) {
+            long cpf = Cpf.numeroOu(usuario.getCpf(), Cpf.INVALIDO);
+            if (cpf == Cpf.INVALIDO) {
+                ignorados++;
+                return this;
+            }
+            if (cpf <= ultimo) {
+                throw new IllegalStateException("CPF fora de ordem: " + usuario.getCpf() + " após " + Cpf.texto(ultimo));
+            }
+            ultimo = cpf;
+            pendentes.add(usuario);
+            if (pendentes.size() == TAMANHO_BLOCO) {
+                blocos.add(Bloco.de(pendentes, dicionario));
+                pendentes.clear();
+            }
+            return this;
+        }
+
+        public DiretorioUsuarios construir() {
+            if (!pendentes.isEmpty()) {
+                blocos.add(Bloco.de(pendentes, dicionario));
+                pendentes.clear();
+            }
+            return new DiretorioUsuarios(blocos.toArray(new Bloco[0]), dicionario);
+        }
+
+        public int ignorados() {
+            return ignorados;
+        }
+    }
+
+    // Textos de endereço repetidos (país, estado, cidade, bairro) viram uma única instância.
+    // Nunca encolhe e é compartilhado pelas versões derivadas até a próxima carga completa:
+    // só entram campos de poucos valores distintos. Logradouro e complemento, quase únicos
+    // por linha, ficam fora; cada edição deixaria os antigos retidos aqui
+    static final class Dicionario {
+
+        private final ConcurrentHashMap<String, String> valores = new ConcurrentHashMap<>();
+
+        String unico(String valor) {
+            if (valor == null) return null;
+            String existente = valores.putIfAbsent(valor, valor);
+            return existente == null ? valor : existente;
+        }
+
+        int tamanho() {
+            return valores.size();
+        }
+    }
+
+    // Colunas de um trecho de até LIMITE_BLOCO linhas, ordenadas por CPF. Nunca alterado depois de montado
+    private static final class Bloco {
+
+        private static final long NULO = Long.MIN_VALUE;
+        private static final byte COM_ENDERECO = 1;
+        private static final byte COM_MOTO = 2;
+        // CPF da moto igual ao do usuário (o caso comum): não guarda a String
+        private static final byte MOTO_DO_USUARIO = 4;
+
+        final int tamanho;
+        final long[] cpf;
+        final String[] nome;
+        final long[] nascimento;
+        final long[] criadoEm;
+        final long[] atualizadoEm;
+        final long[] versao;
+        final byte[] partes;
+
+        final long[] cep;
+        final String[] pais;
+        final String[] estado;
+        final String[] cidade;
+        final String[] bairro;
+        final long[] numero;
+        final String[] logradouro;
+        final String[] complemento;
+
+        final String[] placa;
+        final String[] cpfMoto;
+        final String[] niv;
+        final String[] motor;
+        final long[] renavam;
+        final long[] fipe;
+
+        private Bloco(int tamanho) {
+            this.tamanho = tamanho;
+            cpf = new long[tamanho];
+            nome = new String[tamanho];
+            nascimento = new long[tamanho];
+            criadoEm = new long[tamanho];
+            atualizadoEm = new long[tamanho];
+            versao = new long[tamanho];
+            partes = new byte[tamanho];
+            cep = new long[tamanho];
+            pais = new String[tamanho];
+            estado = new String[tamanho];
+            cidade = new String[tamanho];
+            bairro = new String[tamanho];
+            numero = new long[tamanho];
+            logradouro = new String[tamanho];
+            complemento = new String[tamanho];
+            placa = new String[tamanho];
+            cpfMoto = new String[tamanho];
+            niv = new String[tamanho];
+            motor = new String[tamanho];
+            renavam = new long[tamanho];
+            fipe = new long[tamanho];
+        }
+
+        static Bloco de(List<Usuario> ordenados, Dicionario dicionario) {
+            Bloco b = new Bloco(ordenados.size());
+            for (int i = 0; i < b.tamanho; i++) b.gravar(i, ordenados.get(i), dicionario);
+            return b;
+        }
+
+        int posicao(long chave) {
+            return Arrays.binarySearch(cpf, chave);
+        }
+
+        Bloco inserir(int i, Usuario u, Dicionario dicionario) {
+            Bloco b = new Bloco(tamanho + 1);
+            b.copiar(this, 0, 0, i);
+            b.gravar(i, u, dicionario);
+            b.copiar(this, i, i + 1, tamanho - i);
+            return b;
+        }
+
+        Bloco substituir(int i, Usuario u, Dicionario dicionario) {
+            Bloco b = new Bloco(tamanho);
+            b.copiar(this, 0, 0, tamanho);
+            b.gravar(i, u, dicionario);
+            return b;
+        }
+
+        Bloco remover(int i) {
+            Bloco b = new Bloco(tamanho - 1);
+            b.copiar(this, 0, 0, i);
+            b.copiar(this, i + 1, i, tamanho - i - 1);
+            return b;
+        }
+
+        Bloco trecho(int inicio, int fim) {
+            Bloco b = new Bloco(fim - inicio);
+            b.copiar(this, inicio, 0, fim - inicio);
+            return b;
+        }
+
+        private void copiar(Bloco de, int origem, int destino, int n) {
+            System.arraycopy(de.cpf, origem, cpf, destino, n);
+            System.arraycopy(de.nome, origem, nome, destino, n);
+            System.arraycopy(de.nascimento, origem, nascimento, destino, n);
+            System.arraycopy(de.criadoEm, origem, criadoEm, destino, n);
+            System.arraycopy(de.atualizadoEm, origem, atualizadoEm, destino, n);
+            System.arraycopy(de.versao, origem, versao, destino, n);
+            System.arraycopy(de.partes, origem, partes, destino, n);
+            System.arraycopy(de.cep, origem, cep, destino, n);
+            System.arraycopy(de.pais, origem, pais, destino, n);
+            System.arraycopy(de.estado, origem, estado, destino, n);
+            System.arraycopy(de.cidade, origem, cidade, destino, n);
+            System.arraycopy(de.bairro, origem, bairro, destino, n);
+            System.arraycopy(de.numero, origem, numero, destino, n);
+            System.arraycopy(de.logradouro, origem, logradouro, destino, n);
+            System.arraycopy(de.complemento, origem, complemento, destino, n);
+            System.arraycopy(de.placa, origem, placa, destino, n);
+            System.arraycopy(de.cpfMoto, origem, cpfMoto, destino, n);
+            System.arraycopy(de.niv, origem, niv, destino, n);
+            System.arraycopy(de.motor, origem, motor, destino, n);
+            System.arraycopy(de.renavam, origem, renavam, destino, n);
+            System.arraycopy(de.fipe, origem, fipe, destino, n);
+        }
+
+        private void gravar(int i, Usuario u, Dicionario dicionario) {
+            cpf[i] = Cpf.numero(u.getCpf());
+            nome[i] = u.getNome();
+            nascimento[i] = u.getDataNascimento() == null ? NULO : u.getDataNascimento().getTime();
+            criadoEm[i] = instante(u.getCriadoEm());
+            atualizadoEm[i] = instante(u.getAtualizadoEm());
+            versao[i] = u.getVersao();
+
+            byte p = 0;
+            Endereco e = u.getEndereco();
+            if (e != null) {
+                p |= COM_ENDERECO;
+                cep[i] = longo(e.getCep());
+                pais[i] = dicionario.unico(e.getPais());
+                estado[i] = dicionario.unico(e.getEstado());
+                cidade[i] = dicionario.unico(e.getCidade());
+                bairro[i] = dicionario.unico(e.getBairro());
+                numero[i] = longo(e.getNumero());
+                logradouro[i] = e.getLogradouro();
+                complemento[i] = e.getComplemento();
+            }
+            Moto m = u.getPlaca();
+            if (m != null) {
+                p |= COM_MOTO;
+                placa[i] = m.getPlaca();
+                if (Cpf.texto(cpf[i]).equals(m.getCpf())) {
+                    p |= MOTO_DO_USUARIO;
+                } else {
+                    cpfMoto[i] = m.getCpf();
+                }
+                niv[i] = m.getNiv();
+                motor[i] = m.getMotor();
+                renavam[i] = longo(m.getRenavam());
+                fipe[i] = longo(m.getFipe());
+            }
+            partes[i] = p;
+        }
+
+        Usuario usuario(int i) {
+            String textoCpf = Cpf.texto(cpf[i]);
+            Usuario u = new Usuario();
+            u.setCpf(textoCpf);
+            u.setNome(nome[i]);
+            // DT_NASCIMENTO é DATE: o mesmo tipo que o Hibernate devolve ao ler do banco
+            u.setDataNascimento(nascimento[i] == NULO ? null : new java.sql.Date(nascimento[i]));
+            u.setCriadoEm(dataHora(criadoEm[i]));
+            u.setAtualizadoEm(dataHora(atualizadoEm[i]));
+            u.setVersao(versao[i]);
+
+            if ((partes[i] & COM_ENDERECO) != 0) {
+                Endereco e = new Endereco();
+                e.setCep(objeto(cep[i]));
+                e.setPais(pais[i]);
+                e.setEstado(estado[i]);
+                e.setCidade(cidade[i]);
+                e.setBairro(bairro[i]);
+                e.setNumero(objeto(numero[i]));
+                e.setLogradouro(logradouro[i]);
+                e.setComplemento(complemento[i]);
+                u.setEndereco(e);
+            }
+            if ((partes[i] & COM_MOTO) != 0) {
+                Moto m = new Moto();
+                m.setPlaca(placa[i]);
+                m.setCpf((partes[i] & MOTO_DO_USUARIO) != 0 ? textoCpf : cpfMoto[i]);
+                m.setNiv(niv[i]);
+                m.setMotor(motor[i]);
+                m.setRenavam(objeto(renavam[i]));
+                m.setFipe(objeto(fipe[i]));
+                u.setPlaca(m);
+            }
+            return u;
+        }
+
+        private static long longo(Long valor) {
+            return valor == null ? NULO : valor;
+        }
+
+        private static Long objeto(long valor) {
+            return valor == NULO ? null : valor;
+        }
+
+        // Nanossegundos desde 1970 (UTC local, sem fuso): cobre até o ano 2262
+        private static long instante(LocalDateTime valor) {
+            if (valor == null) return NULO;
+            return valor.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + valor.getNano();
+        }
+
+        private static LocalDateTime dataHora(long valor) {
+            if (valor == NULO) return null;
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(valor, 1_000_000_000L),
+                    (int) Math.floorMod(valor, 1_000_000_000L), ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.fiap.mottu.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cache LRU limitado por tamanho, com TTL e expiração por ociosidade.
+// Usado no lugar do Caffeine (W-TinyLFU) quando a política LRU é configurada.
+public class LruCache extends AbstractValueAdaptingCache {
+
+    private final String nome;
+    private final long tamanhoMaximo;
+    private final long ttlNanos;
+    private final long ociosidadeNanos;
+
+    private final LinkedHashMap<Object, Entrada> mapa;
+    private final ConcurrentHashMap<Object, Carga> emCarga = new ConcurrentHashMap<>();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder eviccoes = new LongAdder();
+    private final LongAdder gravacoes = new LongAdder();
+    private final LongAdder cargas = new LongAdder();
+    private final LongAdder falhasDeCarga = new LongAdder();
+    private final LongAdder tempoDeCargaNanos = new LongAdder();
+
+    public LruCache(String nome, long tamanhoMaximo, Duration ttl, Duration ociosidade) {
+        super(true);
+        this.nome = nome;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttl != null ? ttl.toNanos() : 0;
+        this.ociosidadeNanos = ociosidade != null ? ociosidade.toNanos() : 0;
+        // accessOrder = true: cada leitura move a entrada para o fim (mais recente)
+        this.mapa = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entrada> eldest) {
+                if (size() > LruCache.this.tamanhoMaximo) {
+                    eviccoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return mapa;
+    }
+
+    @Override
+    protected synchronized Object lookup(Object key) {
+        Entrada entrada = mapa.get(key);
+        long agora = System.nanoTime();
+        if (entrada == null) {
+            faltas.increment();
+            return null;
+        }
+        if (entrada.expirada(agora)) {
+            mapa.remove(key);
+            eviccoes.increment();
+            faltas.increment();
+            return null;
+        }
+        entrada.ultimoAcesso = agora;
+        acertos.increment();
+        return entrada.valor;
+    }
+
+    // Single-flight: só um chamador por chave executa o loader; os demais
+    // aguardam o mesmo resultado em vez de irem ao banco. Um put/evict/clear durante a
+    // carga a invalida: o valor lido antes dele é devolvido, mas não fica em cache.
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper existente = get(key);
+        if (existente != null) {
+            return (T) existente.get();
+        }
+
+        Carga minha = new Carga();
+        Carga emAndamento = emCarga.putIfAbsent(key, minha);
+        if (emAndamento != null) {
+            try {
+                return (T) fromStoreValue(emAndamento.join());
+            } catch (CompletionException ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+            }
+        }
+
+        try {
+            // Outra carga pode ter terminado entre a falta e o registro acima
+            Object carregado = espiar(key);
+            if (carregado == null) {
+                long inicio = System.nanoTime();
+                T valor = valueLoader.call();
+                tempoDeCargaNanos.add(System.nanoTime() - inicio);
+                cargas.increment();
+                carregado = toStoreValue(valor);
+                synchronized (this) {
+                    if (!minha.invalidada) {
+                        mapa.put(key, new Entrada(carregado, System.nanoTime()));
+                        gravacoes.increment();
+                    }
+                }
+            }
+            minha.complete(carregado);
+            return (T) fromStoreValue(carregado);
+        } catch (Exception ex) {
+            falhasDeCarga.increment();
+            minha.completeExceptionally(ex);
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } finally {
+            emCarga.remove(key, minha);
+        }
+    }
+
+    private synchronized Object espiar(Object key) {
+        Entrada entrada = mapa.get(key);
+        return entrada != null && !entrada.expirada(System.nanoTime()) ? entrada.valor : null;
+    }
+
+    @Override
+    public synchronized void put(Object key, Object value) {
+        invalidarCarga(key);
+        mapa.put(key, new Entrada(toStoreValue(value), System.nanoTime()));
+        gravacoes.increment();
+    }
+
+    @Override
+    public synchronized ValueWrapper putIfAbsent(Object key, Object value) {
+        Object atual = lookup(key);
+        if (atual != null) {
+            return new SimpleValueWrapper(fromStoreValue(atual));
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public synchronized void evict(Object key) {
+        invalidarCarga(key);
+        mapa.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        emCarga.values().forEach(c -> c.invalidada = true);
+        mapa.clear();
+    }
+
+    // Chamado com o monitor, o mesmo sob o qual a carga publica o valor
+    private void invalidarCarga(Object key) {
+        Carga carga = emCarga.get(key);
+        if (carga != null) carga.invalidada = true;
+    }
+
+    public synchronized long tamanho() {
+        limparExpiradas();
+        return mapa.size();
+    }
+
+    public long acertos() { return acertos.sum(); }
+
+    public long faltas() { return faltas.sum(); }
+
+    public long eviccoes() { return eviccoes.sum(); }
+
+    public long gravacoes() { return gravacoes.sum(); }
+
+    public long cargas() { return cargas.sum(); }
+
+    public long falhasDeCarga() { return falhasDeCarga.sum(); }
+
+    public long tempoDeCargaNanos() { return tempoDeCargaNanos.sum(); }
+
+    private void limparExpiradas() {
+        long agora = System.nanoTime();
+        Iterator<Entrada> it = mapa.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expirada(agora)) {
+                it.remove();
+                eviccoes.increment();
+            }
+        }
+    }
+
+    // Resultado compartilhado com quem espera; invalidada só muda e é lida sob o monitor
+    private static final class Carga extends CompletableFuture<Object> {
+        boolean invalidada;
+    }
+
+    private final class Entrada {
+        final Object valor;
+        final long escritaEm;
+        long ultimoAcesso;
+
+        Entrada(Object valor, long agora) {
+            this.valor = valor;
+            this.escritaEm = agora;
+            this.ultimoAcesso = agora;
+        }
+
+        boolean expirada(long agora) {
+            return (ttlNanos > 0 && agora - escritaEm >= ttlNanos)
+                    || (ociosidadeNanos > 0 && agora - ultimoAcesso >= ociosidadeNanos);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.fiap.mottu.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+// Mesmos nomes de métricas do CaffeineCacheMetrics (cache.gets, cache.evictions,
+// cache.load.duration...), para os painéis não dependerem da política escolhida
+public class LruCacheMetrics extends CacheMeterBinder<LruCache> {
+
+    public LruCacheMetrics(LruCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        LruCache cache = getCache();
+        return cache == null ? null : cache.tamanho();
+    }
+
+    @Override
+    protected long hitCount() {
+        LruCache cache = getCache();
+        return cache == null ? 0 : cache.acertos();
+    }
+
+    @Override
+    protected Long missCount() {
+        LruCache cache = getCache();
+        return cache == null ? null : cache.faltas();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        LruCache cache = getCache();
+        return cache == null ? null : cache.eviccoes();
+    }
+
+    @Override
+    protected long putCount() {
+        LruCache cache = getCache();
+        return cache == null ? 0 : cache.gravacoes();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.load", getCache(), c -> c == null ? 0 : c.cargas())
+                .tags(getTagsWithCacheName())
+                .tag("result", "success")
+                .description("Cargas executadas pelo loader após uma falta")
+                .register(registry);
+
+        FunctionCounter.builder("cache.load", getCache(), c -> c == null ? 0 : c.falhasDeCarga())
+                .tags(getTagsWithCacheName())
+                .tag("result", "failure")
+                .description("Cargas que lançaram exceção")
+                .register(registry);
+
+        TimeGauge.builder("cache.load.duration", getCache(), TimeUnit.NANOSECONDS,
+                        c -> c == null ? 0 : c.tempoDeCargaNanos())
+                .tags(getTagsWithCacheName())
+                .description("Tempo total gasto carregando valores")
+                .register(registry);
+    }
+}
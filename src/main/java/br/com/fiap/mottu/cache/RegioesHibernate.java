@@ -0,0 +1,24 @@
+package br.com.fiap.mottu.cache;
+
+import java.util.List;
+
+// Nomes das regiões do cache de segundo nível. Todas são criadas na subida
+// (HibernateCacheConfig); uma região sem configuração impede a aplicação de iniciar.
+public final class RegioesHibernate {
+
+    private RegioesHibernate() {}
+
+    public static final String ENDERECOS = "enderecos";
+    public static final String MOTOS = "motos";
+    public static final String ROLES = "roles";
+    public static final String FUNCIONARIO_ROLES = "funcionarios.roles";
+
+    // Resultados de consultas marcadas com HINT_CACHEABLE
+    public static final String CONSULTAS = "default-query-results-region";
+    // Última escrita por tabela; invalida os resultados acima. Não pode expirar antes deles
+    public static final String TIMESTAMPS = "default-update-timestamps-region";
+
+    public static List<String> comEspecificacao() {
+        return List.of(ENDERECOS, MOTOS, ROLES, FUNCIONARIO_ROLES, CONSULTAS);
+    }
+}
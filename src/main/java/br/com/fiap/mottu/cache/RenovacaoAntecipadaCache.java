@@ -0,0 +1,140 @@
+package br.com.fiap.mottu.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+// Stale-while-revalidate sobre qualquer cache: depois de renovarApos, a leitura
+// continua recebendo o valor anterior enquanto uma única recarga roda em segundo plano.
+// A recarga só substitui a entrada que a disparou: se ela foi removida ou regravada
+// nesse meio-tempo, o valor recarregado é descartado.
+// Não serve para caches com chave versionada (*FindAll): a entrada antiga deixa de ser
+// lida quando a versão avança, e regravá-la só ocuparia o lugar da atual.
+public class RenovacaoAntecipadaCache implements Cache {
+
+    private static final Logger log = LoggerFactory.getLogger(RenovacaoAntecipadaCache.class);
+
+    private final Cache alvo;
+    private final long renovarAposNanos;
+    private final Executor executor;
+    private final ConcurrentHashMap<Object, Boolean> renovando = new ConcurrentHashMap<>();
+
+    public RenovacaoAntecipadaCache(Cache alvo, Duration renovarApos, Executor executor) {
+        this.alvo = alvo;
+        this.renovarAposNanos = renovarApos.toNanos();
+        this.executor = executor;
+    }
+
+    public Cache alvo() {
+        return alvo;
+    }
+
+    @Override
+    public String getName() {
+        return alvo.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return alvo.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Carimbado c = carimbado(key);
+        return c == null ? null : new SimpleValueWrapper(c.valor);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Carimbado c = carimbado(key);
+        if (c == null || c.valor == null) return null;
+        if (type != null && !type.isInstance(c.valor)) {
+            throw new IllegalStateException("Valor em cache não é do tipo [" + type.getName() + "]: " + c.valor);
+        }
+        return (T) c.valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // O cache alvo já garante uma única carga por chave
+        Carimbado c = alvo.get(key, () -> new Carimbado(valueLoader.call(), System.nanoTime()));
+        if (c != null && System.nanoTime() - c.carregadoEm >= renovarAposNanos) {
+            renovar(key, c, valueLoader);
+        }
+        return c == null ? null : (T) c.valor;
+    }
+
+    // Escritas sob o mesmo lock da conclusão da recarga (substituirSeIgual)
+    @Override
+    public synchronized void put(Object key, Object value) {
+        alvo.put(key, new Carimbado(value, System.nanoTime()));
+    }
+
+    @Override
+    public synchronized ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existente = alvo.putIfAbsent(key, new Carimbado(value, System.nanoTime()));
+        return existente == null ? null : new SimpleValueWrapper(((Carimbado) existente.get()).valor);
+    }
+
+    @Override
+    public synchronized void evict(Object key) {
+        alvo.evict(key);
+    }
+
+    @Override
+    public synchronized boolean evictIfPresent(Object key) {
+        return alvo.evictIfPresent(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        alvo.clear();
+    }
+
+    @Override
+    public synchronized boolean invalidate() {
+        return alvo.invalidate();
+    }
+
+    private Carimbado carimbado(Object key) {
+        ValueWrapper w = alvo.get(key);
+        return w == null ? null : (Carimbado) w.get();
+    }
+
+    private void renovar(Object key, Carimbado anterior, Callable<?> loader) {
+        if (renovando.putIfAbsent(key, Boolean.TRUE) != null) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    substituirSeIgual(key, anterior, new Carimbado(loader.call(), System.nanoTime()));
+                } catch (Exception ex) {
+                    log.warn("Falha ao renovar {}[{}]; mantendo valor anterior", getName(), key, ex);
+                } finally {
+                    renovando.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            renovando.remove(key);
+        }
+    }
+
+    // Como um replace(key, anterior, novo): uma entrada que saiu (evict, expiração) não volta,
+    // e uma gravação feita durante a recarga não é sobrescrita por um valor mais velho
+    private synchronized void substituirSeIgual(Object key, Carimbado anterior, Carimbado novo) {
+        if (carimbado(key) == anterior) {
+            alvo.put(key, novo);
+        }
+    }
+
+    private record Carimbado(Object valor, long carregadoEm) {}
+}
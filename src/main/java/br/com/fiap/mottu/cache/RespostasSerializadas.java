@@ -0,0 +1,118 @@
+package br.com.fiap.mottu.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+// Corpo JSON já serializado (e, sob demanda, comprimido com gzip) das coleções
+// servidas por /todos. A chave é o ETag da coleção, que muda a cada escrita e a cada
+// recarga da lista: num acerto a resposta sai sem nenhum trabalho do Jackson.
+// Guarda só a versão mais recente de cada coleção.
+@Component
+public class RespostasSerializadas {
+
+    // Abaixo disso o gzip economiza pouco (mesmo limite padrão do server.compression)
+    static final int TAMANHO_MINIMO_GZIP = 2048;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public RespostasSerializadas(ObjectMapper objectMapper, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+    }
+
+    public ResponseEntity<byte[]> json(String colecao, String etag, Object corpo, String aceitaCodificacao) {
+        Entrada entrada = entradas.get(colecao);
+        if (entrada != null && entrada.etag.equals(etag)) {
+            contar(colecao, "hit");
+        } else {
+            contar(colecao, "miss");
+            // Uma serialização por versão, mesmo com várias requisições chegando juntas
+            entrada = entradas.compute(colecao, (k, atual) ->
+                    atual != null && atual.etag.equals(etag) ? atual : new Entrada(etag, serializar(corpo)));
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (entrada.json.length >= TAMANHO_MINIMO_GZIP && aceitaGzip(aceitaCodificacao)) {
+            // Representação diferente, ETag diferente (o 304 continua valendo por codificação)
+            return resposta.eTag(etag.substring(0, etag.length() - 1) + "-gzip\"")
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(entrada.gzip());
+        }
+        return resposta.eTag(etag).body(entrada.json);
+    }
+
+    private byte[] serializar(Object corpo) {
+        try {
+            return objectMapper.writeValueAsBytes(corpo);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void contar(String colecao, String resultado) {
+        registry.counter("mottu.respostas.serializadas", "colecao", colecao, "resultado", resultado).increment();
+    }
+
+    // "gzip" listado sem q=0 (ex.: "gzip, deflate, br" ou "gzip;q=0.8")
+    static boolean aceitaGzip(String aceitaCodificacao) {
+        if (aceitaCodificacao == null) return false;
+        for (String parte : aceitaCodificacao.split(",")) {
+            String[] campos = parte.trim().split(";");
+            if (!campos[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < campos.length; i++) {
+                String p = campos[i].trim();
+                if (p.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(p.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static final class Entrada {
+        final String etag;
+        final byte[] json;
+        // Calculado no primeiro cliente que aceita gzip; corrida inofensiva (mesmo resultado)
+        private volatile byte[] gzip;
+
+        Entrada(String etag, byte[] json) {
+            this.etag = etag;
+            this.json = json;
+        }
+
+        byte[] gzip() {
+            byte[] g = gzip;
+            if (g == null) {
+                ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4 + 64);
+                try (GZIPOutputStream z = new GZIPOutputStream(saida)) {
+                    z.write(json);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                gzip = g = saida.toByteArray();
+            }
+            return g;
+        }
+    }
+}
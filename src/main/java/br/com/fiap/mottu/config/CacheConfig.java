@@ -0,0 +1,24 @@
+package br.com.fiap.mottu.config;
+
+import br.com.fiap.mottu.cache.CacheMetricasProvider;
+import br.com.fiap.mottu.cache.ConfiguravelCacheManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        return new ConfiguravelCacheManager(properties, ConfiguravelCacheManager.nomesPadrao());
+    }
+
+    // Métricas cache.* (acertos, faltas, evicções, tempo de carga) para todos os caches
+    @Bean
+    public CacheMetricasProvider cacheMetricasProvider() {
+        return new CacheMetricasProvider();
+    }
+}
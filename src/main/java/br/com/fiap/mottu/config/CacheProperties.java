@@ -0,0 +1,66 @@
+package br.com.fiap.mottu.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "mottu.cache")
+public class CacheProperties {
+
+    public enum Politica { W_TINY_LFU, LRU }
+
+    // Valores aplicados a qualquer cache sem configuração própria
+    private Especificacao padrao = Especificacao.padrao();
+
+    // Sobrescritas por nome de cache (ex.: mottu.cache.caches.funcionariosFindById.tamanho-maximo=2000)
+    private Map<String, Especificacao> caches = new HashMap<>();
+
+    // Regiões do cache de segundo nível do Hibernate (ex.: mottu.cache.regioes.enderecos.tamanho-maximo=5000).
+    // Sempre Caffeine W-TinyLFU; política e renovação antecipada não se aplicam
+    private Map<String, Especificacao> regioes = new HashMap<>();
+
+    public Especificacao especificacao(String nome) {
+        return combinar(caches.get(nome));
+    }
+
+    public Especificacao especificacaoDaRegiao(String regiao) {
+        return combinar(regioes.get(regiao));
+    }
+
+    private Especificacao combinar(Especificacao propria) {
+        if (propria == null) return padrao;
+
+        Especificacao e = new Especificacao();
+        e.setPolitica(propria.getPolitica() != null ? propria.getPolitica() : padrao.getPolitica());
+        e.setTamanhoMaximo(propria.getTamanhoMaximo() != null ? propria.getTamanhoMaximo() : padrao.getTamanhoMaximo());
+        e.setExpirarAposEscrita(propria.getExpirarAposEscrita() != null ? propria.getExpirarAposEscrita() : padrao.getExpirarAposEscrita());
+        e.setExpirarAposAcesso(propria.getExpirarAposAcesso() != null ? propria.getExpirarAposAcesso() : padrao.getExpirarAposAcesso());
+        e.setRenovarAposEscrita(propria.getRenovarAposEscrita() != null ? propria.getRenovarAposEscrita() : padrao.getRenovarAposEscrita());
+        return e;
+    }
+
+    @Data
+    public static class Especificacao {
+        private Politica politica;
+        private Long tamanhoMaximo;
+        // TTL: tempo máximo desde a escrita
+        private Duration expirarAposEscrita;
+        // Expiração por ociosidade: tempo máximo sem leitura
+        private Duration expirarAposAcesso;
+        // Stale-while-revalidate: após este tempo a leitura ainda recebe o valor
+        // atual, mas dispara uma recarga em segundo plano
+        private Duration renovarAposEscrita;
+
+        static Especificacao padrao() {
+            Especificacao e = new Especificacao();
+            e.setPolitica(Politica.W_TINY_LFU);
+            e.setTamanhoMaximo(1000L);
+            e.setExpirarAposEscrita(Duration.ofMinutes(10));
+            return e;
+        }
+    }
+}
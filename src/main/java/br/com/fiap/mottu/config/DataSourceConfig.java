@@ -0,0 +1,78 @@
+package br.com.fiap.mottu.config;
+
+import br.com.fiap.mottu.datasource.MonitorReplica;
+import br.com.fiap.mottu.datasource.ReplicaOuPrimaria;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Com mottu.datasource.replica.url definido, transações somente-leitura (@Transactional(readOnly = true),
+// inclusive as dos repositórios usados pelas cargas dos caches) vão para a réplica e o resto para a
+// primária de spring.datasource.*. Cada banco tem seu pool Hikari: spring.datasource.hikari.* e
+// mottu.datasource.replica.hikari.*. Sem a propriedade, vale o DataSource único do Spring Boot.
+@Configuration
+@ConditionalOnProperty(prefix = "mottu.datasource.replica", name = "url")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Mesmo driver e, se não informadas, as mesmas credenciais da primária
+    @Bean
+    @ConfigurationProperties("mottu.datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica(DataSourceProperties properties,
+                                              @Value("${mottu.datasource.replica.url}") String url,
+                                              @Value("${mottu.datasource.replica.username:${spring.datasource.username:}}") String usuario,
+                                              @Value("${mottu.datasource.replica.password:${spring.datasource.password:}}") String senha) {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url).username(usuario).password(senha)
+                .build();
+        replica.setPoolName("mottu-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean(destroyMethod = "close")
+    public MonitorReplica monitorReplica(HikariDataSource dataSourcePrimaria, HikariDataSource dataSourceReplica,
+                                         @Value("${mottu.datasource.replica.atraso-maximo:3s}") Duration atrasoMaximo,
+                                         @Value("${mottu.datasource.replica.verificacao:1s}") Duration intervalo,
+                                         @Value("${mottu.sincronizacao.margem:5s}") Duration margemSincronizacao,
+                                         MeterRegistry registry) {
+        // /changes fecha a janela em "agora - margem": uma réplica mais atrasada que isso
+        // ainda não teria linhas já dentro da janela, e o cliente as perderia
+        if (atrasoMaximo.plus(intervalo).compareTo(margemSincronizacao) >= 0) {
+            throw new IllegalStateException("mottu.datasource.replica.atraso-maximo + verificacao (" + atrasoMaximo.plus(intervalo)
+                    + ") precisa ser menor que mottu.sincronizacao.margem (" + margemSincronizacao + ")");
+        }
+        MonitorReplica monitor = new MonitorReplica(dataSourcePrimaria, dataSourceReplica, atrasoMaximo);
+        monitor.registrarMetricas(registry);
+        monitor.iniciar(intervalo);
+        return monitor;
+    }
+
+    // A conexão física só é obtida no primeiro comando, quando o Spring já marcou a transação
+    // como somente-leitura (Connection.setReadOnly): aí ela sai da réplica (ou da primária, em fallback)
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimaria, HikariDataSource dataSourceReplica,
+                                 MonitorReplica monitorReplica) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(dataSourcePrimaria);
+        proxy.setReadOnlyDataSource(new ReplicaOuPrimaria(dataSourcePrimaria, dataSourceReplica, monitorReplica));
+        return proxy;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.fiap.mottu.config;
+
+import br.com.fiap.mottu.cache.RegioesHibernate;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Cache de segundo nível do Hibernate (JCache sobre Caffeine) para entidades de
+// referência: Endereco, Moto, Role e a coleção Funcionario.roles. O tamanho e o
+// TTL de cada região vêm de mottu.cache.regioes.*, como os caches do Spring.
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager(CacheProperties properties) {
+        // Um gerenciador por contexto: a URI própria evita compartilhar regiões entre contextos de teste
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("mottu-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String regiao : RegioesHibernate.comEspecificacao()) {
+            manager.createCache(regiao, configuracao(properties.especificacaoDaRegiao(regiao)));
+        }
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        manager.createCache(RegioesHibernate.TIMESTAMPS, timestamps);
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return props -> props.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // hibernate.second.level.cache.*, hibernate.cache.query.* etc. por região
+    @Bean
+    public MeterBinder hibernateMetricas(EntityManagerFactory entityManagerFactory) {
+        return registry -> new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "mottu", Tags.empty())
+                .bindTo(registry);
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuracao(CacheProperties.Especificacao spec) {
+        CaffeineConfiguration<Object, Object> c = new CaffeineConfiguration<>();
+        c.setMaximumSize(OptionalLong.of(spec.getTamanhoMaximo()));
+        if (spec.getExpirarAposEscrita() != null) {
+            c.setExpireAfterWrite(OptionalLong.of(spec.getExpirarAposEscrita().toNanos()));
+        }
+        if (spec.getExpirarAposAcesso() != null) {
+            c.setExpireAfterAccess(OptionalLong.of(spec.getExpirarAposAcesso().toNanos()));
+        }
+        c.setStatisticsEnabled(true);
+        return c;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.fiap.mottu.controllers;
+
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import br.com.fiap.mottu.service.AlteracoesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Set;
+
+// Feed de alterações de usuários e funcionários (Server-Sent Events), no lugar
+// de consultar /todos periodicamente. O EventSource do navegador reconecta sozinho
+// e reenvia o Last-Event-ID; o cliente recebe o que perdeu a partir do anel.
+@RestController
+@RequestMapping("/alteracoes")
+public class AlteracaoController {
+
+    private static final Set<String> ENTIDADES = Set.of(AlteracaoDTO.USUARIO, AlteracaoDTO.FUNCIONARIO);
+
+    @Autowired
+    AlteracoesService alteracoesService;
+
+    @Value("${mottu.alteracoes.tempo-limite:30m}")
+    Duration tempoLimite;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinar(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento,
+                           @RequestParam(value = "desde", required = false) Long desde,
+                           @RequestParam(value = "entidade", required = false) String entidade) {
+        if (entidade != null && !ENTIDADES.contains(entidade)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Entidade inválida.");
+        }
+        Long inicio = desde;
+        // Na reconexão automática o Last-Event-ID vale mais que o "desde" da URL original
+        if (ultimoEvento != null && !ultimoEvento.isBlank()) {
+            try {
+                inicio = Long.valueOf(ultimoEvento.trim());
+            } catch (NumberFormatException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last-Event-ID inválido.");
+            }
+        }
+        return alteracoesService.assinar(inicio, entidade, tempoLimite.toMillis());
+    }
+}
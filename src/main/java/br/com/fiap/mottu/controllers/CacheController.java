@@ -0,0 +1,24 @@
+package br.com.fiap.mottu.controllers;
+
+import br.com.fiap.mottu.dto.CacheEstatisticasDTO;
+import br.com.fiap.mottu.service.CacheEstatisticasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+
+    @Autowired
+    CacheEstatisticasService estatisticasService;
+
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<CacheEstatisticasDTO>> estatisticas() {
+        return ResponseEntity.ok(estatisticasService.listar());
+    }
+}
@@ -2,24 +2,33 @@ package br.com.fiap.mottu.controllers;
 
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 
+import br.com.fiap.mottu.cache.RespostasSerializadas;
+import br.com.fiap.mottu.dto.AlteracaoDTO;
 import br.com.fiap.mottu.dto.FuncionarioDTO;
+import br.com.fiap.mottu.dto.FuncionarioParcialDTO;
+import br.com.fiap.mottu.dto.FuncionariosPorIdDTO;
 import br.com.fiap.mottu.dto.IntroDTO;
-import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.mapper.FuncionarioMapper;
 import br.com.fiap.mottu.models.Funcionario;
 import br.com.fiap.mottu.repositories.FuncionarioRepository;
+import br.com.fiap.mottu.service.AlteracoesService;
 import br.com.fiap.mottu.service.FuncionarioCachingService;
 import br.com.fiap.mottu.service.FuncionarioService;
+import br.com.fiap.mottu.service.SincronizacaoService;
+import br.com.fiap.mottu.utils.Etags;
 import jakarta.validation.Valid;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 
@@ -37,29 +46,53 @@ public class FuncionarioController {
     @Autowired
     FuncionarioCachingService cachingService;
 
+    @Autowired
+    FuncionarioMapper mapper;
+
+    @Autowired
+    AlteracoesService alteracoesService;
+
+    @Autowired
+    SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    RespostasSerializadas respostas;
+
     @GetMapping
     public ResponseEntity<EntityModel<IntroDTO>> intro() {
         IntroDTO dto = new IntroDTO("Setor de funcionarios da Mottu");
         EntityModel<IntroDTO> resource = EntityModel.of(dto);
 
-        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).pegueTodos())
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).pegueTodos(null))
                 .withRel("listar-funcionarios"));
-        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).peguePeloId(null))
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).peguePorCursor(null, null, false))
+                .withRel("paginar-funcionarios"));
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).alteracoes(null, null))
+                .withRel("sincronizar-funcionarios"));
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).peguePeloId(null, null))
                 .withRel("buscar-funcionario"));
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).pegueTodosPelosIds(null))
+                .withRel("buscar-funcionarios"));
         resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).cadastro(null))
                 .withRel("criar-funcionario"));
         resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).atualizar(null, null))
                 .withRel("atualizar-funcionario"));
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).alterar(null, null))
+                .withRel("alterar-funcionario"));
         resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class).deletar(null))
                 .withRel("deletar-funcionario"));
 
         return ResponseEntity.ok(resource);
     }
 
+    // If-None-Match com o ETag atual -> 304; nos demais casos o corpo sai pré-serializado
+    // (e em gzip, se aceito) enquanto a lista em cache não mudar
     @GetMapping("/todos")
-    public ResponseEntity pegueTodos() {
+    public ResponseEntity pegueTodos(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String codificacao) {
+        long versao = cachingService.versao();
         List<Funcionario> listaDeFuncionarios = cachingService.cacheFindAll();
-        return ResponseEntity.ok(listaDeFuncionarios);
+        return respostas.json("funcionarios", Etags.colecao("funcionarios", versao, listaDeFuncionarios),
+                listaDeFuncionarios, codificacao);
     }
 
     @GetMapping("/paginados")
@@ -71,14 +104,59 @@ public class FuncionarioController {
         return ResponseEntity.ok(funcionarios_paginadas);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity peguePorCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "20") Integer size,
+                                         @RequestParam(value = "total", defaultValue = "false") boolean total)
+    {
+        try {
+            return ResponseEntity.ok(service.paginarPorCursor(cursor, size, total));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Cursor inválido.");
+        }
+    }
+
+    // Sincronização incremental: só o que mudou (ou saiu) desde o "proximo" da chamada anterior
+    @GetMapping("/changes")
+    public ResponseEntity alteracoes(@RequestParam(value = "since", required = false) String since,
+                                     @RequestParam(value = "size", required = false) Integer size)
+    {
+        try {
+            return ResponseEntity.ok(sincronizacaoService.funcionarios(since, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    // Vários ids numa chamada: ?ids=1,2,3 (ou ids repetido)
+    @GetMapping("/lote")
+    public ResponseEntity pegueTodosPelosIds(@RequestParam(value = "ids") List<Long> ids) {
+        List<Funcionario> funcionarios;
+        try {
+            funcionarios = cachingService.findAllById(ids);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        Set<Long> encontrados = new HashSet<>();
+        funcionarios.forEach(f -> encontrados.add(f.getId()));
+        List<Long> naoEncontrados = ids.stream()
+                .filter(id -> id != null && !encontrados.contains(id)).distinct().toList();
+        return ResponseEntity.ok(new FuncionariosPorIdDTO(funcionarios, naoEncontrados));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity peguePeloId(@PathVariable(value = "id")  Long id) {
+    public ResponseEntity peguePeloId(@PathVariable(value = "id")  Long id, WebRequest request) {
         Optional<Funcionario> funcionario = cachingService.findById(id);
         if (funcionario.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Funcionário não encontrado.");
-        } else {
-            return ResponseEntity.status(HttpStatus.FOUND).body(funcionario.get());
         }
+        Funcionario f = funcionario.get();
+        // checkNotModified também grava ETag/Last-Modified na resposta
+        if (request.checkNotModified(Etags.registro(f.getId(), f.getAtualizadoEm(), f),
+                Etags.ultimaModificacao(f.getAtualizadoEm()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.status(HttpStatus.FOUND).body(f);
     }
 
     @PostMapping("/cadastro")
@@ -86,24 +164,24 @@ public class FuncionarioController {
         if (dto.endereco() == null) {
             return ResponseEntity.badRequest().body("Endereço é obrigatório.");
         }
-        var funcionario = new Funcionario();
-        BeanUtils.copyProperties(dto, funcionario, "endereco");
-        var endereco = new Endereco();
-        BeanUtils.copyProperties(dto.endereco(), endereco);
-        funcionario.setEndereco(endereco);
+        var funcionario = mapper.toEntity(dto);
 
         var salvo = repositorio.save(funcionario);
-        cachingService.limparCache();
+        cachingService.salvo(salvo);
+        alteracoesService.criado(AlteracaoDTO.FUNCIONARIO, salvo.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(salvo);
     }
 
+    // Um único DELETE, sem carregar o funcionário: 0 linhas removidas é 404. O CPF (para
+    // revogar o login) vem da cópia em memória, lida antes porque a remoção a descarta
     @DeleteMapping("/{id}")
     public ResponseEntity deletar(@PathVariable Long id) {
-        if (!repositorio.existsById(id)) {
+        String cpf = cachingService.emCache(id).map(Funcionario::getCpf).orElse(null);
+        if (!service.remover(id)) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Funcionário não encontrado.");
         }
-        repositorio.deleteById(id);
-        cachingService.limparCache();
+        cachingService.removido(id, cpf);
+        alteracoesService.removido(AlteracaoDTO.FUNCIONARIO, id);
         return ResponseEntity.status(HttpStatus.OK).body("Cadastro deletado com sucesso.");
     }
 
@@ -112,18 +190,30 @@ public class FuncionarioController {
         var opt = repositorio.findById(id);
         if (opt.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Funcionário não encontrado.");
         var f = opt.get();
-        BeanUtils.copyProperties(dto, f, "id", "endereco");
-        if (dto.endereco() != null) {
-            var end = f.getEndereco();
-            if (end == null) end = new Endereco();
-            BeanUtils.copyProperties(dto.endereco(), end);
-            f.setEndereco(end);
-        }
+        var cpfAnterior = f.getCpf();
+        mapper.atualizar(dto, f);
         var salvo = repositorio.save(f);
-        cachingService.limparCache(); // <-- invalida
+        cachingService.salvo(salvo); // <-- atualiza só este funcionário
+        if (!Objects.equals(cpfAnterior, salvo.getCpf())) cachingService.loginRevogado(cpfAnterior);
+        alteracoesService.atualizado(AlteracaoDTO.FUNCIONARIO, id);
         return ResponseEntity.ok(salvo);
     }
 
+    // Alteração parcial (nome, CPF, senha) num único UPDATE, só se "versao" ainda for a atual
+    @PatchMapping("/{id}")
+    public ResponseEntity alterar(@PathVariable Long id, @RequestBody @Valid FuncionarioParcialDTO dto) {
+        if (dto.vazio()) return ResponseEntity.badRequest().body("Nenhum campo para alterar.");
+        try {
+            Optional<Funcionario> salvo = service.alterar(id, dto);
+            if (salvo.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Funcionário não encontrado.");
+            alteracoesService.atualizado(AlteracaoDTO.FUNCIONARIO, id);
+            return ResponseEntity.ok(salvo.get());
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Funcionário alterado por outra requisição: releia e envie a versão atual.");
+        }
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationException(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
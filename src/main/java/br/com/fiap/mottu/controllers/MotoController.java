@@ -0,0 +1,77 @@
+package br.com.fiap.mottu.controllers;
+
+import br.com.fiap.mottu.dto.IntroDTO;
+import br.com.fiap.mottu.dto.MotosPorPlacaDTO;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.service.MotoCachingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+@RestController
+@RequestMapping("/motos")
+public class MotoController {
+
+    @Autowired
+    MotoCachingService cachingService;
+
+    @GetMapping
+    public ResponseEntity<EntityModel<IntroDTO>> intro() {
+        IntroDTO dto = new IntroDTO("Setor de motos da Mottu");
+        EntityModel<IntroDTO> resource = EntityModel.of(dto);
+
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(MotoController.class).pegarPelaPlaca(null))
+                .withRel("buscar-moto-pela-placa"));
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(MotoController.class).pegarPeloNiv(null))
+                .withRel("buscar-moto-pelo-niv"));
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(MotoController.class).pegarPeloRenavam(null))
+                .withRel("buscar-moto-pelo-renavam"));
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(MotoController.class).pegarPelasPlacas(null))
+                .withRel("buscar-motos-pelas-placas"));
+
+        return ResponseEntity.ok(resource);
+    }
+
+    // Várias placas numa chamada: ?placas=ABC1234,DEF5G67 (ou placas repetido)
+    @GetMapping("/lote")
+    public ResponseEntity pegarPelasPlacas(@RequestParam(value = "placas") List<String> placas) {
+        List<Moto> motos;
+        try {
+            motos = cachingService.buscarPorPlacas(placas);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        Set<String> encontradas = new HashSet<>();
+        motos.forEach(m -> encontradas.add(m.getPlaca()));
+        List<String> naoEncontradas = placas.stream().map(MotoCachingService::normalizar)
+                .filter(p -> !p.isEmpty() && !encontradas.contains(p)).distinct().toList();
+        return ResponseEntity.ok(new MotosPorPlacaDTO(motos, naoEncontradas));
+    }
+
+    @GetMapping("/niv/{niv}")
+    public ResponseEntity pegarPeloNiv(@PathVariable(value = "niv") String niv) {
+        return resposta(cachingService.findByNiv(niv));
+    }
+
+    @GetMapping("/renavam/{renavam}")
+    public ResponseEntity pegarPeloRenavam(@PathVariable(value = "renavam") Long renavam) {
+        return resposta(cachingService.findByRenavam(renavam));
+    }
+
+    @GetMapping("/{placa}")
+    public ResponseEntity pegarPelaPlaca(@PathVariable(value = "placa") String placa) {
+        return resposta(cachingService.findByPlaca(placa));
+    }
+
+    private static ResponseEntity resposta(Optional<Moto> moto) {
+        if (moto.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Moto não encontrada.");
+        }
+        return ResponseEntity.ok(moto.get());
+    }
+}
@@ -1,23 +1,44 @@
 package br.com.fiap.mottu.controllers;
 
+import br.com.fiap.mottu.cache.RespostasSerializadas;
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import br.com.fiap.mottu.dto.BuscaPaginaDTO;
+import br.com.fiap.mottu.dto.ImportacaoResultadoDTO;
 import br.com.fiap.mottu.dto.IntroDTO;
+import br.com.fiap.mottu.dto.UsuarioBuscaDTO;
 import br.com.fiap.mottu.dto.UsuarioDTO;
-import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.dto.UsuarioParcialDTO;
+import br.com.fiap.mottu.dto.UsuariosPorCpfDTO;
+import br.com.fiap.mottu.mapper.UsuarioMapper;
 import br.com.fiap.mottu.models.Usuario;
 import br.com.fiap.mottu.repositories.UsuarioRepository;
+import br.com.fiap.mottu.service.AlteracoesService;
+import br.com.fiap.mottu.service.SincronizacaoService;
+import br.com.fiap.mottu.service.UsuarioBuscaService;
 import br.com.fiap.mottu.service.UsuarioCachingService;
+import br.com.fiap.mottu.service.UsuarioExportacaoService;
+import br.com.fiap.mottu.service.UsuarioImportacaoService;
+import br.com.fiap.mottu.service.UsuarioService;
+import br.com.fiap.mottu.utils.Cpf;
+import br.com.fiap.mottu.utils.Etags;
 import jakarta.validation.Valid;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 @RestController
@@ -31,6 +52,30 @@ public class UsuarioController {
     @Autowired
     UsuarioCachingService cachingService;
 
+    @Autowired
+    UsuarioService service;
+
+    @Autowired
+    UsuarioExportacaoService exportacaoService;
+
+    @Autowired
+    UsuarioImportacaoService importacaoService;
+
+    @Autowired
+    UsuarioMapper mapper;
+
+    @Autowired
+    UsuarioBuscaService buscaService;
+
+    @Autowired
+    AlteracoesService alteracoesService;
+
+    @Autowired
+    SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    RespostasSerializadas respostas;
+
     @GetMapping
     public ResponseEntity<EntityModel<IntroDTO>> intro() {
 
@@ -38,28 +83,112 @@ public class UsuarioController {
 
         EntityModel<IntroDTO> resource = EntityModel.of(dto);
 
-        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).pegueTodos())
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).pegueTodos(null))
                 .withRel("listar-usuarios"));
 
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).peguePorCursor(null, null, false))
+                .withRel("paginar-usuarios"));
+
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).buscar(null, null, null, null))
+                .withRel("buscar-usuarios"));
+
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).alteracoes(null, null))
+                .withRel("sincronizar-usuarios"));
+
         resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).pegarPeloCpf(null))
                 .withRel("listar-usuarios-pelo-cpf"));
 
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).pegarPelosCpfs(null))
+                .withRel("listar-usuarios-pelos-cpfs"));
+
         resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).cadastro(null))
                 .withRel("cadastrar-usuarios"));
 
         resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).atualizar(null, null))
                 .withRel("atualizar-usuarios"));
 
+        resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).alterar(null, null))
+                .withRel("alterar-usuarios"));
+
         resource.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class).deletar(null))
                 .withRel("deletar-usuarios"));
 
         return ResponseEntity.ok(resource);
     }
 
+    // If-None-Match com o ETag atual -> 304; nos demais casos o corpo sai pré-serializado
+    // (e em gzip, se aceito) enquanto a lista em cache não mudar
     @GetMapping("/todos")
-    public ResponseEntity pegueTodos(){
+    public ResponseEntity pegueTodos(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String codificacao) {
+        long versao = cachingService.versao();
         List<Usuario> listaDeUsuarios = cachingService.cacheFindAll();
-        return ResponseEntity.ok(listaDeUsuarios);
+        return respostas.json("usuarios", Etags.colecao("usuarios", versao, listaDeUsuarios),
+                listaDeUsuarios, codificacao);
+    }
+
+    @GetMapping("/paginados")
+    public ResponseEntity peguePorCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "20") Integer size,
+                                         @RequestParam(value = "total", defaultValue = "false") boolean total) {
+        try {
+            return ResponseEntity.ok(service.paginarPorCursor(cursor, size, total));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Cursor inválido.");
+        }
+    }
+
+    // Prefixo de nome, placa ou cidade (ex.: ?q=joao sao&estado=SP), ordenado por relevância
+    @GetMapping("/busca")
+    public ResponseEntity<BuscaPaginaDTO<UsuarioBuscaDTO>> buscar(@RequestParam(value = "q", required = false) String q,
+                                                                  @RequestParam(value = "estado", required = false) String estado,
+                                                                  @RequestParam(value = "pagina", defaultValue = "0") Integer pagina,
+                                                                  @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(buscaService.buscar(q, estado, pagina, size));
+    }
+
+    // Sincronização incremental: só o que mudou (ou saiu) desde o "proximo" da chamada anterior
+    @GetMapping("/changes")
+    public ResponseEntity alteracoes(@RequestParam(value = "since", required = false) String since,
+                                     @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(sincronizacaoService.usuarios(since, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/exportar", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(corpo);
+    }
+
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    public ResponseEntity<ImportacaoResultadoDTO> importarCsv(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoService.importarCsv(corpo));
+    }
+
+    @PostMapping(value = "/importar", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportacaoResultadoDTO> importarNdjson(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoService.importarNdjson(corpo));
+    }
+
+    // Vários CPFs numa chamada: ?cpfs=12345678901,98765432100 (ou cpfs repetido)
+    @GetMapping("/lote")
+    public ResponseEntity pegarPelosCpfs(@RequestParam(value = "cpfs") List<String> cpfs) {
+        List<Usuario> usuarios;
+        try {
+            usuarios = cachingService.findAllById(cpfs);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        Set<String> encontrados = new HashSet<>();
+        usuarios.forEach(u -> encontrados.add(u.getCpf()));
+        List<String> naoEncontrados = cpfs.stream().map(Cpf::normalizar)
+                .filter(c -> !encontrados.contains(c)).distinct().toList();
+        return ResponseEntity.ok(new UsuariosPorCpfDTO(usuarios, naoEncontrados));
     }
 
     @GetMapping("/{cpf}")
@@ -68,54 +197,79 @@ public class UsuarioController {
 
         if(usuario.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário não encontrado.");
-        } else {
-            return ResponseEntity.ok(usuario.get());
         }
+        // Com ETag/Last-Modified num 200, o Spring responde 304 aos GETs condicionais
+        Usuario u = usuario.get();
+        var resposta = ResponseEntity.ok().eTag(Etags.registro(u.getCpf(), u.getAtualizadoEm(), u));
+        if (u.getAtualizadoEm() != null) {
+            resposta.lastModified(Etags.ultimaModificacao(u.getAtualizadoEm()));
+        }
+        return resposta.body(u);
     }
 
     @PostMapping("/cadastro")
     public ResponseEntity cadastro(@RequestBody @Valid UsuarioDTO dto) {
-        Usuario usuario = new Usuario();
-        BeanUtils.copyProperties(dto, usuario);
-
-        if (dto.endereco() != null) {
-            Endereco endereco = new Endereco();
-            BeanUtils.copyProperties(dto.endereco(), endereco);
-            usuario.setEndereco(endereco);
-        } else {
+        if (dto.endereco() == null) {
             return ResponseEntity.badRequest().body("Endereço é obrigatório.");
         }
+        Usuario usuario = mapper.toEntity(dto);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(repository.save(usuario));
+        Usuario salvo = repository.save(usuario);
+        cachingService.salvo(salvo);
+        alteracoesService.criado(AlteracaoDTO.USUARIO, salvo.getCpf());
+        return ResponseEntity.status(HttpStatus.CREATED).body(salvo);
     }
 
+    // Um único DELETE, sem carregar o usuário: 0 linhas removidas é 404
     @DeleteMapping("/{cpf}")
-    public ResponseEntity<?> deletar(@PathVariable String cpf) {
-        return repository.findById(cpf).map(u -> {
-            try {
-                repository.delete(u);
-                if (cachingService != null) cachingService.limparCache();
-                return ResponseEntity.ok(Map.of("message","Usuário deletado"));
-            } catch (DataIntegrityViolationException ex) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of(
-                            "error","Não é possível deletar: dependências ainda existem.",
-                            "detail", ex.getMostSpecificCause() != null ? ex.getMostSpecificCause().getMessage() : ex.getMessage()
-                        ));
+    public ResponseEntity<?> deletar(@PathVariable("cpf") String cpfInformado) {
+        String cpf = Cpf.normalizar(cpfInformado);
+        try {
+            if (!service.remover(cpf)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error","Usuário não encontrado"));
             }
-        }).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(Map.of("error","Usuário não encontrado")));
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error","Não é possível deletar: dependências ainda existem.",
+                        "detail", ex.getMostSpecificCause() != null ? ex.getMostSpecificCause().getMessage() : ex.getMessage()
+                    ));
+        }
+        if (cachingService != null) cachingService.removido(cpf);
+        alteracoesService.removido(AlteracaoDTO.USUARIO, cpf);
+        return ResponseEntity.ok(Map.of("message","Usuário deletado"));
     }
 
     @PutMapping("/{cpf}")
     public ResponseEntity atualizar(@PathVariable(value = "cpf") String cpf, @RequestBody UsuarioDTO dto) {
-        Optional<Usuario> usuario = repository.findById(cpf);
+        Optional<Usuario> usuario = repository.findById(Cpf.normalizar(cpf));
         if (usuario.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário não encontrado para atualizar.");
         }
         var usuarioAtualizado = usuario.get();
-        BeanUtils.copyProperties(dto, usuarioAtualizado);
-        return ResponseEntity.ok(repository.save(usuarioAtualizado));
+        mapper.atualizar(dto, usuarioAtualizado);
+        Usuario salvo = repository.save(usuarioAtualizado);
+        cachingService.salvo(salvo);
+        alteracoesService.atualizado(AlteracaoDTO.USUARIO, salvo.getCpf());
+        return ResponseEntity.ok(salvo);
+    }
+
+    // Alteração parcial (nome, data de nascimento) num único UPDATE, só se "versao" ainda for a atual
+    @PatchMapping("/{cpf}")
+    public ResponseEntity alterar(@PathVariable(value = "cpf") String cpf, @RequestBody @Valid UsuarioParcialDTO dto) {
+        if (dto.vazio()) return ResponseEntity.badRequest().body("Nenhum campo para alterar.");
+        try {
+            Optional<Usuario> salvo = service.alterar(Cpf.normalizar(cpf), dto);
+            if (salvo.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário não encontrado para atualizar.");
+            }
+            alteracoesService.atualizado(AlteracaoDTO.USUARIO, salvo.get().getCpf());
+            return ResponseEntity.ok(salvo.get());
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Usuário alterado por outra requisição: releia e envie a versão atual.");
+        }
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
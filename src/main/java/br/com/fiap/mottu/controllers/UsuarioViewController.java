@@ -1,13 +1,17 @@
 package br.com.fiap.mottu.controllers;
 
+import br.com.fiap.mottu.dto.AlteracaoDTO;
 import br.com.fiap.mottu.dto.UsuarioForm;
-import br.com.fiap.mottu.models.Endereco;
-import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.mapper.UsuarioMapper;
 import br.com.fiap.mottu.models.Usuario;
 import br.com.fiap.mottu.repositories.UsuarioRepository;
+import br.com.fiap.mottu.service.AlteracoesService;
 import br.com.fiap.mottu.service.UsuarioCachingService;
+import br.com.fiap.mottu.service.UsuarioService;
+import br.com.fiap.mottu.utils.Cpf;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -15,7 +19,6 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.time.ZoneId;
 import java.util.Optional;
 
 @Controller
@@ -29,12 +32,39 @@ public class UsuarioViewController {
     @Autowired(required = false)
     private UsuarioCachingService cachingService;
 
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private AlteracoesService alteracoesService;
+
+    @Autowired
+    private UsuarioMapper mapper;
+
+    // A tabela é preenchida pelo list.js, página a página, a partir de /usuarios/ui/pagina
     @GetMapping
-    public String lista(Model model) {
-        model.addAttribute("usuarios", usuarioRepository.findAll());
+    public String lista() {
         return "usuarios/list";
     }
 
+    // Página da listagem em JSON: ordenação e filtro por prefixo feitos no banco, por chave (sem OFFSET)
+    @GetMapping("/pagina")
+    @ResponseBody
+    public ResponseEntity<?> pagina(@RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "size", defaultValue = "20") Integer size,
+                                    @RequestParam(value = "ordem", defaultValue = "cpf") String ordem,
+                                    @RequestParam(value = "direcao", defaultValue = "asc") String direcao,
+                                    @RequestParam(value = "campo", defaultValue = "nome") String campo,
+                                    @RequestParam(value = "filtro", required = false) String filtro,
+                                    @RequestParam(value = "total", defaultValue = "false") boolean total) {
+        try {
+            return ResponseEntity.ok(usuarioService.paginarResumo(cursor, size, ordem,
+                    "desc".equalsIgnoreCase(direcao), campo, filtro, total));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @GetMapping("/novo")
     public String novoForm(Model model) {
         model.addAttribute("usuarioForm", new UsuarioForm());
@@ -54,89 +84,28 @@ public class UsuarioViewController {
             return "usuarios/form";
         }
 
-        Usuario usuario = new Usuario();
-        usuario.setCpf(form.getCpf());
-        usuario.setNome(form.getNome());
-
-        usuario.setDataNascimento(java.sql.Date.valueOf(form.getDataNascimento()));
-
-        Endereco end = new Endereco();
-        end.setCep(form.getCep());
-        end.setPais(form.getPais());
-        end.setEstado(form.getEstado());
-        end.setCidade(form.getCidade());
-        end.setBairro(form.getBairro());
-        end.setNumero(form.getNumero());
-        end.setLogradouro(form.getLogradouro());
-        end.setComplemento(form.getComplemento());
-        usuario.setEndereco(end);
-
-        Moto moto = new Moto();
-        moto.setPlaca(form.getPlaca());
-        moto.setCpf(form.getCpfMoto() == null || form.getCpfMoto().isBlank()
-                ? form.getCpf()
-                : form.getCpfMoto());
-        moto.setNiv(form.getNiv());
-        moto.setMotor(form.getMotor());
-        moto.setRenavam(form.getRenavam());
-        moto.setFipe(form.getFipe());
-        usuario.setPlaca(moto);
-
-        usuarioRepository.save(usuario);
-        limparCacheUsuarios();
+        Usuario usuario = mapper.toEntity(form);
+
+        Usuario salvo = usuarioRepository.save(usuario);
+        registrarSalvo(salvo);
+        alteracoesService.criado(AlteracaoDTO.USUARIO, salvo.getCpf());
 
         ra.addFlashAttribute("msg", "Usuário cadastrado com sucesso!");
         return "redirect:/usuarios/ui";
     }
 
     @GetMapping("/{cpf}/editar")
-    public String editar(@PathVariable String cpf,
+    public String editar(@PathVariable("cpf") String cpfInformado,
                          Model model,
                          RedirectAttributes ra) {
+        String cpf = Cpf.normalizar(cpfInformado);
         Optional<Usuario> opt = usuarioRepository.findById(cpf);
         if (opt.isEmpty()) {
             ra.addFlashAttribute("msg", "Usuário não encontrado para edição.");
             return "redirect:/usuarios/ui";
         }
 
-        Usuario usuario = opt.get();
-        UsuarioForm form = new UsuarioForm();
-
-        form.setCpf(usuario.getCpf());
-        form.setNome(usuario.getNome());
-
-        if (usuario.getDataNascimento() != null) {
-            java.util.Date raw = usuario.getDataNascimento();
-            java.time.LocalDate ld;
-            if (raw instanceof java.sql.Date sqlDate) {
-                ld = sqlDate.toLocalDate();
-            } else {
-                ld = raw.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-            }
-            form.setDataNascimento(ld);
-        }
-
-        if (usuario.getEndereco() != null) {
-            var e = usuario.getEndereco();
-            form.setCep(e.getCep());
-            form.setPais(e.getPais());
-            form.setEstado(e.getEstado());
-            form.setCidade(e.getCidade());
-            form.setBairro(e.getBairro());
-            form.setNumero(e.getNumero());
-            form.setLogradouro(e.getLogradouro());
-            form.setComplemento(e.getComplemento());
-        }
-
-        if (usuario.getPlaca() != null) {
-            var m = usuario.getPlaca();
-            form.setPlaca(m.getPlaca());
-            form.setCpfMoto(!m.getCpf().equals(usuario.getCpf()) ? m.getCpf() : null);
-            form.setNiv(m.getNiv());
-            form.setMotor(m.getMotor());
-            form.setRenavam(m.getRenavam());
-            form.setFipe(m.getFipe());
-        }
+        UsuarioForm form = mapper.toForm(opt.get());
 
         model.addAttribute("usuarioForm", form);
         model.addAttribute("editing", true);
@@ -145,11 +114,12 @@ public class UsuarioViewController {
     }
 
     @PostMapping("/{cpf}/atualizar")
-    public String atualizar(@PathVariable String cpf,
+    public String atualizar(@PathVariable("cpf") String cpfInformado,
                             @ModelAttribute("usuarioForm") @Valid UsuarioForm form,
                             BindingResult binding,
                             RedirectAttributes ra,
                             Model model) {
+        String cpf = Cpf.normalizar(cpfInformado);
         Optional<Usuario> opt = usuarioRepository.findById(cpf);
         if (opt.isEmpty()) {
             ra.addFlashAttribute("msg", "Usuário não encontrado para atualizar.");
@@ -162,35 +132,11 @@ public class UsuarioViewController {
         }
 
         Usuario usuario = opt.get();
-        usuario.setNome(form.getNome());
-        usuario.setDataNascimento(java.sql.Date.valueOf(form.getDataNascimento()));
-
-        Endereco end = usuario.getEndereco();
-        if (end == null) end = new Endereco();
-        end.setCep(form.getCep());
-        end.setPais(form.getPais());
-        end.setEstado(form.getEstado());
-        end.setCidade(form.getCidade());
-        end.setBairro(form.getBairro());
-        end.setNumero(form.getNumero());
-        end.setLogradouro(form.getLogradouro());
-        end.setComplemento(form.getComplemento());
-        usuario.setEndereco(end);
-
-        Moto moto = usuario.getPlaca();
-        if (moto == null) moto = new Moto();
-        moto.setPlaca(form.getPlaca());
-        moto.setCpf(form.getCpfMoto() == null || form.getCpfMoto().isBlank()
-                ? usuario.getCpf()
-                : form.getCpfMoto());
-        moto.setNiv(form.getNiv());
-        moto.setMotor(form.getMotor());
-        moto.setRenavam(form.getRenavam());
-        moto.setFipe(form.getFipe());
-        usuario.setPlaca(moto);
-
-        usuarioRepository.save(usuario);
-        limparCacheUsuarios();
+        mapper.atualizar(form, usuario);
+
+        Usuario salvo = usuarioRepository.save(usuario);
+        registrarSalvo(salvo);
+        alteracoesService.atualizado(AlteracaoDTO.USUARIO, salvo.getCpf());
 
         ra.addFlashAttribute("msg", "Usuário atualizado com sucesso!");
         return "redirect:/usuarios/ui";
@@ -198,21 +144,27 @@ public class UsuarioViewController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/{cpf}/deletar")
-    public String deletar(@PathVariable String cpf, RedirectAttributes ra) {
-        Optional<Usuario> opt = usuarioRepository.findById(cpf);
-        if (opt.isEmpty()) {
+    public String deletar(@PathVariable("cpf") String cpfInformado, RedirectAttributes ra) {
+        String cpf = Cpf.normalizar(cpfInformado);
+        if (!usuarioService.remover(cpf)) {
             ra.addFlashAttribute("msg", "Usuário não encontrado para deletar.");
             return "redirect:/usuarios/ui";
         }
-        usuarioRepository.delete(opt.get());
-        limparCacheUsuarios();
+        registrarRemocao(cpf);
+        alteracoesService.removido(AlteracaoDTO.USUARIO, cpf);
         ra.addFlashAttribute("msg", "Usuário deletado com sucesso!");
         return "redirect:/usuarios/ui";
     }
 
-    private void limparCacheUsuarios() {
+    private void registrarSalvo(Usuario usuario) {
+        if (cachingService != null) {
+            try { cachingService.salvo(usuario); } catch (Exception ignored) {}
+        }
+    }
+
+    private void registrarRemocao(String cpf) {
         if (cachingService != null) {
-            try { cachingService.limparCache(); } catch (Exception ignored) {}
+            try { cachingService.removido(cpf); } catch (Exception ignored) {}
         }
     }
 }
\ No newline at end of file
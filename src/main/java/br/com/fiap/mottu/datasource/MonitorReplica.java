@@ -0,0 +1,132 @@
+package br.com.fiap.mottu.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Atraso da réplica medido por batimento: a cada verificação o instante atual é gravado na
+// primária (T_MT_BATIMENTO, V14) e comparado com o último que já chegou à réplica. O valor
+// lido tem a resolução do intervalo entre verificações. Acima de atrasoMaximo, ou com a
+// réplica inacessível, as leituras voltam para a primária até uma verificação dentro do limite.
+public class MonitorReplica implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+    static final String ATUALIZAR = "UPDATE T_MT_BATIMENTO SET DT_BATIMENTO = ? WHERE ID_BATIMENTO = 1";
+    static final String INSERIR = "INSERT INTO T_MT_BATIMENTO (ID_BATIMENTO, DT_BATIMENTO) VALUES (1, ?)";
+    static final String LER = "SELECT DT_BATIMENTO FROM T_MT_BATIMENTO WHERE ID_BATIMENTO = 1";
+
+    private final DataSource primaria;
+    private final DataSource replica;
+    private final Duration atrasoMaximo;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "monitor-replica");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Até a primeira verificação a réplica não é usada
+    private volatile boolean disponivel;
+    private volatile Duration atraso;
+
+    public MonitorReplica(DataSource primaria, DataSource replica, Duration atrasoMaximo) {
+        this.primaria = primaria;
+        this.replica = replica;
+        this.atrasoMaximo = atrasoMaximo;
+    }
+
+    public void iniciar(Duration intervalo) {
+        verificar();
+        executor.scheduleWithFixedDelay(this::verificar, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean disponivel() {
+        return disponivel;
+    }
+
+    // null enquanto a réplica não respondeu
+    public Duration atraso() {
+        return atraso;
+    }
+
+    public void verificar() {
+        Instant agora = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        try {
+            bater(agora);
+        } catch (SQLException ex) {
+            // Sem batimento novo a réplica parece atrasar e sai de uso sozinha
+            log.warn("Batimento na primária falhou: {}", ex.getMessage());
+        }
+
+        boolean antes = disponivel;
+        try {
+            Instant ultimo = ultimoNaReplica();
+            // Relógios de instâncias diferentes podem gravar um batimento "no futuro"
+            atraso = ultimo == null ? null : max(Duration.between(ultimo, agora), Duration.ZERO);
+            disponivel = atraso != null && atraso.compareTo(atrasoMaximo) <= 0;
+        } catch (SQLException ex) {
+            atraso = null;
+            disponivel = false;
+            if (antes) log.warn("Réplica inacessível, leituras voltam para a primária: {}", ex.getMessage());
+            return;
+        }
+        if (antes != disponivel) {
+            if (disponivel) log.info("Réplica em uso (atraso {} ms)", atraso.toMillis());
+            else log.warn("Réplica atrasada ({}), leituras voltam para a primária", atraso == null ? "sem batimento" : atraso.toMillis() + " ms");
+        }
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("mottu.datasource.replica.disponivel", this, m -> m.disponivel ? 1 : 0)
+                .description("1 quando as leituras somente-leitura vão para a réplica")
+                .register(registry);
+        Gauge.builder("mottu.datasource.replica.atraso", this, m -> m.atraso == null ? Double.NaN : m.atraso.toMillis() / 1000.0)
+                .description("Atraso da réplica medido pelo último batimento")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void bater(Instant agora) throws SQLException {
+        try (Connection c = primaria.getConnection()) {
+            try (PreparedStatement ps = c.prepareStatement(ATUALIZAR)) {
+                ps.setTimestamp(1, Timestamp.from(agora));
+                if (ps.executeUpdate() > 0) return;
+            }
+            try (PreparedStatement ps = c.prepareStatement(INSERIR)) {
+                ps.setTimestamp(1, Timestamp.from(agora));
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private Instant ultimoNaReplica() throws SQLException {
+        try (Connection c = replica.getConnection();
+             PreparedStatement ps = c.prepareStatement(LER);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getTimestamp(1).toInstant() : null;
+        }
+    }
+}
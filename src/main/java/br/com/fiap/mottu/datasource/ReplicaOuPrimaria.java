@@ -0,0 +1,28 @@
+package br.com.fiap.mottu.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Destino das conexões somente-leitura: a réplica enquanto o MonitorReplica a considera em dia,
+// senão a própria primária. A escolha vale para a conexão inteira (a transação não muda de banco)
+public class ReplicaOuPrimaria extends AbstractRoutingDataSource {
+
+    private final MonitorReplica monitor;
+
+    public ReplicaOuPrimaria(DataSource primaria, DataSource replica, MonitorReplica monitor) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return monitor.disponivel() ? Destino.REPLICA : Destino.PRIMARIA;
+    }
+
+    enum Destino { PRIMARIA, REPLICA }
+}
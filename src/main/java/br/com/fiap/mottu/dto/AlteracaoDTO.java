@@ -0,0 +1,18 @@
+package br.com.fiap.mottu.dto;
+
+import java.time.Instant;
+
+// Evento do feed de alterações: o cliente usa a sequência para retomar (Last-Event-ID)
+// e busca o registro pelo id quando precisar do conteúdo
+public record AlteracaoDTO(
+        long sequencia,
+        String entidade,
+        String id,
+        Tipo tipo,
+        Instant instante
+) {
+    public enum Tipo { CRIADO, ATUALIZADO, REMOVIDO }
+
+    public static final String USUARIO = "usuario";
+    public static final String FUNCIONARIO = "funcionario";
+}
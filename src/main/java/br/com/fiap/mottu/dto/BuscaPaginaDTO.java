@@ -0,0 +1,13 @@
+package br.com.fiap.mottu.dto;
+
+import java.util.List;
+
+// Página de resultados ordenados por relevância; truncado indica que a busca parou
+// no limite de candidatos e total é só um piso (refine o termo)
+public record BuscaPaginaDTO<T>(
+        List<T> itens,
+        int pagina,
+        int tamanho,
+        long total,
+        boolean truncado
+) {}
@@ -0,0 +1,11 @@
+package br.com.fiap.mottu.dto;
+
+public record CacheEstatisticasDTO(
+        String nome,
+        String politica,
+        long tamanho,
+        long acertos,
+        long faltas,
+        long eviccoes,
+        double taxaDeAcerto
+) {}
@@ -0,0 +1,13 @@
+package br.com.fiap.mottu.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// proximoCursor == null indica a última página; total só vem quando pedido
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPaginaDTO<T>(
+        List<T> itens,
+        String proximoCursor,
+        Long total
+) {}
@@ -0,0 +1,28 @@
+package br.com.fiap.mottu.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+// PATCH: só os campos presentes são alterados; versao é a que o cliente leu
+public record FuncionarioParcialDTO(
+        @NotNull(message = "A versão é obrigatória")
+        Long versao,
+
+        String nome,
+
+        @Pattern(
+                regexp = "^\\d{11}$|^\\d{3}\\.\\d{3}\\.\\d{3}-?\\d{2}$",
+                message = "CPF inválido. Use 11 dígitos, com ou sem formatação."
+        )
+        String cpf,
+
+        @Pattern(
+                regexp = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d).{6,}$",
+                message = "A senha deve ter 6 caracteres alfanuméricos, com pelo menos uma letra maiúscula e uma minúscula."
+        )
+        String senha
+) {
+    public boolean vazio() {
+        return nome == null && cpf == null && senha == null;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.mottu.dto;
+
+import br.com.fiap.mottu.models.Funcionario;
+
+import java.util.List;
+
+public record FuncionariosPorIdDTO(
+        List<Funcionario> funcionarios,
+        List<Long> naoEncontrados
+) {}
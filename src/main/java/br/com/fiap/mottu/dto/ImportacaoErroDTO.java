@@ -0,0 +1,7 @@
+package br.com.fiap.mottu.dto;
+
+public record ImportacaoErroDTO(
+        long linha,
+        String campo,
+        String mensagem
+) {}
@@ -0,0 +1,9 @@
+package br.com.fiap.mottu.dto;
+
+import java.util.List;
+
+public record ImportacaoResultadoDTO(
+        long linhas,
+        long importados,
+        List<ImportacaoErroDTO> erros
+) {}
@@ -0,0 +1,10 @@
+package br.com.fiap.mottu.dto;
+
+import br.com.fiap.mottu.models.Moto;
+
+import java.util.List;
+
+public record MotosPorPlacaDTO(
+        List<Moto> motos,
+        List<String> naoEncontradas
+) {}
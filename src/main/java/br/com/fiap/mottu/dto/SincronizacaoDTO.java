@@ -0,0 +1,12 @@
+package br.com.fiap.mottu.dto;
+
+import java.util.List;
+
+// Resposta de /changes: registros criados/alterados e ids removidos desde o "since" pedido.
+// "proximo" é o since da próxima chamada; completo == false indica que há mais páginas agora
+public record SincronizacaoDTO<T>(
+        List<T> alterados,
+        List<String> removidos,
+        String proximo,
+        boolean completo
+) {}
@@ -0,0 +1,11 @@
+package br.com.fiap.mottu.dto;
+
+// Resultado da busca: só o necessário para o atendimento identificar o usuário
+public record UsuarioBuscaDTO(
+        String cpf,
+        String nome,
+        String placa,
+        String cidade,
+        String estado,
+        int pontuacao
+) {}
@@ -0,0 +1,17 @@
+package br.com.fiap.mottu.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Date;
+
+// PATCH: só os campos presentes são alterados; versao é a que o cliente leu
+public record UsuarioParcialDTO(
+        @NotNull(message = "A versão é obrigatória")
+        Long versao,
+        String nome,
+        Date dataNascimento
+) {
+    public boolean vazio() {
+        return nome == null && dataNascimento == null;
+    }
+}
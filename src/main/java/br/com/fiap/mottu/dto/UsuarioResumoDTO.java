@@ -0,0 +1,12 @@
+package br.com.fiap.mottu.dto;
+
+import java.util.Date;
+
+// Projeção somente leitura para listagens: uma linha de T_MT_USUARIO, sem carregar Endereco/Moto
+public record UsuarioResumoDTO(
+        String cpf,
+        String nome,
+        Date dataNascimento,
+        Long cep,
+        String placa
+) {}
@@ -0,0 +1,10 @@
+package br.com.fiap.mottu.dto;
+
+import br.com.fiap.mottu.models.Usuario;
+
+import java.util.List;
+
+public record UsuariosPorCpfDTO(
+        List<Usuario> usuarios,
+        List<String> naoEncontrados
+) {}
@@ -0,0 +1,49 @@
+package br.com.fiap.mottu.mapper;
+
+import br.com.fiap.mottu.dto.EnderecoDTO;
+import br.com.fiap.mottu.dto.FuncionarioDTO;
+import br.com.fiap.mottu.dto.FuncionarioParcialDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Funcionario;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+// Conversões de Funcionario geradas em tempo de compilação (MapStruct):
+// chamadas diretas de getters/setters, sem reflexão por requisição
+@Mapper(componentModel = "spring")
+public interface FuncionarioMapper {
+
+    @IgnorarAuditoria
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "roles", ignore = true)
+    Funcionario toEntity(FuncionarioDTO dto);
+
+    // PUT: endereço ausente no corpo mantém o atual; presente, atualiza o existente
+    @IgnorarAuditoria
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "endereco", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void atualizar(FuncionarioDTO dto, @MappingTarget Funcionario funcionario);
+
+    // PATCH: só nome, CPF e senha, e só os presentes no corpo
+    @BeanMapping(ignoreByDefault = true, nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "nome")
+    @Mapping(target = "cpf")
+    @Mapping(target = "senha")
+    void alterar(FuncionarioParcialDTO dto, @MappingTarget Funcionario funcionario);
+
+    // Cópia rasa (endereço e papéis são os mesmos objetos), para alterar sem mexer
+    // na instância que está no cache
+    Funcionario copiar(Funcionario funcionario);
+
+    FuncionarioDTO toDTO(Funcionario funcionario);
+
+    Endereco toEntity(EnderecoDTO dto);
+
+    void atualizar(EnderecoDTO dto, @MappingTarget Endereco endereco);
+
+    EnderecoDTO toDTO(Endereco endereco);
+}
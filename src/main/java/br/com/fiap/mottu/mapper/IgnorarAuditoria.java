@@ -0,0 +1,17 @@
+package br.com.fiap.mottu.mapper;
+
+import org.mapstruct.Mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// DT_CRIACAO/DT_ATUALIZACAO e NR_VERSAO são preenchidas pelo Hibernate, nunca pelo cliente
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+@Mapping(target = "criadoEm", ignore = true)
+@Mapping(target = "atualizadoEm", ignore = true)
+@Mapping(target = "versao", ignore = true)
+public @interface IgnorarAuditoria {
+}
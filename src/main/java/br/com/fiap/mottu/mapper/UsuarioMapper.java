@@ -0,0 +1,106 @@
+package br.com.fiap.mottu.mapper;
+
+import br.com.fiap.mottu.dto.UsuarioDTO;
+import br.com.fiap.mottu.dto.UsuarioForm;
+import br.com.fiap.mottu.dto.UsuarioParcialDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+// Conversões de Usuario geradas em tempo de compilação (MapStruct): API (UsuarioDTO)
+// e formulário da UI (UsuarioForm, com os campos de endereço e moto "achatados")
+@Mapper(componentModel = "spring")
+public interface UsuarioMapper {
+
+    // ===== API =====
+
+    @IgnorarAuditoria
+    Usuario toEntity(UsuarioDTO dto);
+
+    @IgnorarAuditoria
+    void atualizar(UsuarioDTO dto, @MappingTarget Usuario usuario);
+
+    // PATCH: só os campos presentes no corpo
+    @BeanMapping(ignoreByDefault = true, nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "nome")
+    @Mapping(target = "dataNascimento")
+    void alterar(UsuarioParcialDTO dto, @MappingTarget Usuario usuario);
+
+    // ===== Formulário =====
+
+    @IgnorarAuditoria
+    @Mapping(target = "endereco", source = "form")
+    @Mapping(target = "placa", source = "form")
+    Usuario toEntity(UsuarioForm form);
+
+    // O CPF vem da URL; endereço e moto existentes são atualizados no lugar
+    @IgnorarAuditoria
+    @Mapping(target = "cpf", ignore = true)
+    @Mapping(target = "endereco", source = "form")
+    @Mapping(target = "placa", source = "form")
+    void atualizar(UsuarioForm form, @MappingTarget Usuario usuario);
+
+    Endereco toEndereco(UsuarioForm form);
+
+    void atualizar(UsuarioForm form, @MappingTarget Endereco endereco);
+
+    @Mapping(target = "cpf", source = "cpfMoto")
+    Moto toMoto(UsuarioForm form);
+
+    @Mapping(target = "cpf", source = "cpfMoto")
+    void atualizar(UsuarioForm form, @MappingTarget Moto moto);
+
+    @Mapping(target = "cep", source = "endereco.cep")
+    @Mapping(target = "pais", source = "endereco.pais")
+    @Mapping(target = "estado", source = "endereco.estado")
+    @Mapping(target = "cidade", source = "endereco.cidade")
+    @Mapping(target = "bairro", source = "endereco.bairro")
+    @Mapping(target = "numero", source = "endereco.numero")
+    @Mapping(target = "logradouro", source = "endereco.logradouro")
+    @Mapping(target = "complemento", source = "endereco.complemento")
+    @Mapping(target = "placa", source = "placa.placa")
+    @Mapping(target = "niv", source = "placa.niv")
+    @Mapping(target = "motor", source = "placa.motor")
+    @Mapping(target = "renavam", source = "placa.renavam")
+    @Mapping(target = "fipe", source = "placa.fipe")
+    @Mapping(target = "cpfMoto", ignore = true)
+    UsuarioForm toForm(Usuario usuario);
+
+    // Moto sem CPF próprio no formulário pertence ao próprio usuário
+    @AfterMapping
+    default void cpfDaMoto(UsuarioForm form, @MappingTarget Usuario usuario) {
+        Moto moto = usuario.getPlaca();
+        if (moto != null && (moto.getCpf() == null || moto.getCpf().isBlank())) {
+            moto.setCpf(usuario.getCpf());
+        }
+    }
+
+    // Só mostra o CPF da moto quando ele difere do CPF do usuário
+    @AfterMapping
+    default void cpfMotoNoForm(Usuario usuario, @MappingTarget UsuarioForm form) {
+        Moto moto = usuario.getPlaca();
+        if (moto != null && moto.getCpf() != null && !moto.getCpf().equals(usuario.getCpf())) {
+            form.setCpfMoto(moto.getCpf());
+        }
+    }
+
+    default Date paraDate(LocalDate data) {
+        return data == null ? null : java.sql.Date.valueOf(data);
+    }
+
+    default LocalDate paraLocalDate(Date data) {
+        if (data == null) return null;
+        if (data instanceof java.sql.Date sqlDate) return sqlDate.toLocalDate();
+        return data.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.fiap.mottu.models;
 
+import br.com.fiap.mottu.cache.RegioesHibernate;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -8,9 +9,13 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity(name = "endereco")
 @Table(name = "T_MT_Endereco")
+// Compartilhado por CEP e raramente alterado: fica no cache de segundo nível
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesHibernate.ENDERECOS)
 @Data
 public class Endereco {
 
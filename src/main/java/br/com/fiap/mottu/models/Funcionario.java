@@ -1,10 +1,22 @@
 package br.com.fiap.mottu.models;
 
+import br.com.fiap.mottu.cache.RegioesHibernate;
+import br.com.fiap.mottu.utils.Cpf;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 import org.springframework.hateoas.RepresentationModel;
@@ -44,11 +56,39 @@ public class Funcionario extends RepresentationModel<Funcionario> {
     @JoinColumn(name = "NR_CEP", referencedColumnName = "NR_CEP", nullable = false)
     private Endereco endereco;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // LAZY: quem precisa dos papéis pede via entity graph no repositório; acessos
+    // avulsos carregam os papéis de até 50 funcionários por consulta. A coleção (ids
+    // dos papéis) fica no cache de segundo nível, junto com os próprios papéis. As linhas
+    // de T_MT_FUNCIONARIO_ROLE o banco remove junto com o funcionário (V15)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesHibernate.FUNCIONARIO_ROLES)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinTable(
         name = "T_MT_FUNCIONARIO_ROLE",
         joinColumns = @JoinColumn(name = "ID_FUNCIONARIO"),
         inverseJoinColumns = @JoinColumn(name = "ID_ROLE")
     )
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Set<Role> roles;
-}
\ No newline at end of file
+
+    // Colunas de auditoria (V5); DT_ATUALIZACAO alimenta Last-Modified/ETag
+    @CreationTimestamp
+    @Column(name = "DT_CRIACAO", columnDefinition = "DATE", updatable = false)
+    private LocalDateTime criadoEm;
+
+    @UpdateTimestamp
+    @Column(name = "DT_ATUALIZACAO", columnDefinition = "DATE")
+    private LocalDateTime atualizadoEm;
+
+    // Versão otimista (V15), conferida pelo PATCH no próprio UPDATE
+    @Version
+    @Column(name = "NR_VERSAO", nullable = false)
+    private long versao;
+
+    // Canônico (Cpf): o login e o índice único de CD_CPF comparam por igualdade
+    public void setCpf(String cpf) {
+        this.cpf = Cpf.normalizar(cpf);
+    }
+}
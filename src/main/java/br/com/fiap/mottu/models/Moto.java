@@ -1,11 +1,16 @@
 package br.com.fiap.mottu.models;
 
+import br.com.fiap.mottu.cache.RegioesHibernate;
+import br.com.fiap.mottu.utils.Cpf;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity(name = "moto")
 @Table(name = "T_MT_Moto")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesHibernate.MOTOS)
 @Data
 public class Moto {
 
@@ -49,4 +54,9 @@ public class Moto {
     @Min(value = 0, message = "FIPE deve ser positivo")
     @Max(value = 9999999, message = "FIPE deve ter no máximo 7 dígitos")
     private Long fipe;
+
+    // Mesma forma canônica do CPF do usuário
+    public void setCpf(String cpf) {
+        this.cpf = Cpf.normalizar(cpf);
+    }
 }
\ No newline at end of file
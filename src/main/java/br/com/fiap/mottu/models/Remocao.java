@@ -0,0 +1,39 @@
+package br.com.fiap.mottu.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Marca de remoção (tombstone) para a sincronização incremental (/changes):
+// a linha some da tabela de origem, mas o cliente ainda precisa saber que saiu
+@Entity(name = "remocao")
+@Table(name = "T_MT_Remocao")
+@IdClass(Remocao.Chave.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Remocao {
+
+    @Id
+    @Column(name = "NM_ENTIDADE", length = 20)
+    private String entidade;
+
+    @Id
+    @Column(name = "CD_ID", length = 20)
+    private String id;
+
+    @Column(name = "DT_REMOCAO", columnDefinition = "DATE", nullable = false)
+    private LocalDateTime removidoEm;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+        private String entidade;
+        private String id;
+    }
+}
@@ -1,10 +1,14 @@
 package br.com.fiap.mottu.models;
 
+import br.com.fiap.mottu.cache.RegioesHibernate;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "T_MT_ROLE")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesHibernate.ROLES)
 @Data
 public class Role {
 
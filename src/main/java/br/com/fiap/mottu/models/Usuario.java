@@ -1,11 +1,15 @@
 package br.com.fiap.mottu.models;
 
+import br.com.fiap.mottu.utils.Cpf;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
 @Entity(name = "usuario")
@@ -37,4 +41,23 @@ public class Usuario {
 
     @Column(name = "ID_NOME", nullable = false)
     private String nome;
-}
\ No newline at end of file
+
+    // Colunas de auditoria (V9); DT_ATUALIZACAO alimenta Last-Modified/ETag
+    @CreationTimestamp
+    @Column(name = "DT_CRIACAO", columnDefinition = "DATE", updatable = false)
+    private LocalDateTime criadoEm;
+
+    @UpdateTimestamp
+    @Column(name = "DT_ATUALIZACAO", columnDefinition = "DATE")
+    private LocalDateTime atualizadoEm;
+
+    // Versão otimista (V15): avança a cada escrita; o PATCH só altera a linha na versão informada
+    @Version
+    @Column(name = "NR_VERSAO", nullable = false)
+    private long versao;
+
+    // Sempre na forma canônica (Cpf): "123.456.789-01" e "12345678901" são o mesmo registro
+    public void setCpf(String cpf) {
+        this.cpf = Cpf.normalizar(cpf);
+    }
+}
@@ -2,10 +2,97 @@ package br.com.fiap.mottu.repositories;
 
 import br.com.fiap.mottu.models.Funcionario;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public interface FuncionarioRepository extends JpaRepository<Funcionario, Long> {
+    // Login: só os papéis, numa única consulta. O resultado fica no cache de consultas
+    // até alguma escrita em T_MT_FUNCIONARIO ou na tabela de papéis. Lido da primária:
+    // senha trocada ou funcionário removido não pode continuar valendo pela réplica
+    @Transactional
+    @EntityGraph(attributePaths = "roles")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Funcionario> findByCpf(String cpf);
-}
\ No newline at end of file
+
+    // Respostas que serializam a entidade inteira (lista e busca por id). Carga do cache
+    // "funcionariosFindAll": da primária, senão uma réplica atrasada gravaria sob a versão
+    // nova uma lista de antes da última escrita, que valeria até o TTL
+    @Override
+    @Transactional
+    @EntityGraph(attributePaths = {"endereco", "roles"})
+    List<Funcionario> findAll();
+
+    // Antecede alteração e remoção (o cache por id usa findAllById): primária
+    @Override
+    @Transactional
+    @EntityGraph(attributePaths = {"endereco", "roles"})
+    Optional<Funcionario> findById(Long id);
+
+    // Faltas do cache por id, em lote (multi-get e CargaAgrupada): um único IN (...).
+    // Primária pelo mesmo motivo: um funcionário recém-removido não volta ao cache
+    @Override
+    @Transactional
+    @EntityGraph(attributePaths = {"endereco", "roles"})
+    List<Funcionario> findAllById(Iterable<Long> ids);
+
+    // Um único DELETE, sem carregar a entidade. Nativo porque o delete em HQL apaga antes as
+    // linhas de T_MT_FUNCIONARIO_ROLE num comando à parte; aqui elas saem pelo ON DELETE
+    // CASCADE (V15). As tabelas declaradas (nomes físicos, em minúsculas pela estratégia de
+    // nomes do Spring) limitam a invalidação do cache de segundo nível e de consultas a elas;
+    // sem isso, um comando nativo invalida tudo
+    @Transactional
+    @Modifying
+    @Query(value = "delete from T_MT_FUNCIONARIO where ID_FUNCIONARIO = :id", nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "t_mt_funcionario"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "t_mt_funcionario_role")
+    })
+    int removerPorId(Long id);
+
+    // PATCH num único UPDATE condicionado à versão; campo null fica como está
+    @Transactional
+    @Modifying
+    @Query("update funcionarios f set f.nome = coalesce(:nome, f.nome), f.cpf = coalesce(:cpf, f.cpf), "
+            + "f.senha = coalesce(:senha, f.senha), f.atualizadoEm = :atualizadoEm, f.versao = f.versao + 1 "
+            + "where f.id = :id and f.versao = :versao")
+    int alterar(Long id, long versao, String nome, String cpf, String senha, LocalDateTime atualizadoEm);
+
+    // /funcionarios/paginados vira FuncionarioDTO, que não usa os papéis. Também carrega um
+    // cache sob a versão atual ("funcionariosFindByPage"): primária
+    @Override
+    @Transactional
+    @EntityGraph(attributePaths = "endereco")
+    Page<Funcionario> findAll(Pageable pageable);
+
+    // Paginação por chave (keyset): WHERE ID_FUNCIONARIO > ? ORDER BY ID_FUNCIONARIO, sem OFFSET
+    @EntityGraph(attributePaths = "endereco")
+    List<Funcionario> findByOrderByIdAsc(Limit limit);
+
+    @EntityGraph(attributePaths = "endereco")
+    List<Funcionario> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Sincronização incremental: mesma forma de /todos, alterados em [desde, ate)
+    @EntityGraph(attributePaths = {"endereco", "roles"})
+    @Query("select f from funcionarios f where f.atualizadoEm >= :desde and f.atualizadoEm < :ate order by f.atualizadoEm, f.id")
+    List<Funcionario> alteradosDesde(LocalDateTime desde, LocalDateTime ate, Limit limit);
+
+    @EntityGraph(attributePaths = {"endereco", "roles"})
+    @Query("select f from funcionarios f where (f.atualizadoEm > :desde or (f.atualizadoEm = :desde and f.id > :id)) "
+            + "and f.atualizadoEm < :ate order by f.atualizadoEm, f.id")
+    List<Funcionario> alteradosApos(LocalDateTime desde, Long id, LocalDateTime ate, Limit limit);
+}
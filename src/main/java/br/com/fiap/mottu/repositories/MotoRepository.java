@@ -0,0 +1,17 @@
+package br.com.fiap.mottu.repositories;
+
+import br.com.fiap.mottu.models.Moto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public interface MotoRepository extends JpaRepository<Moto, String> {
+
+    // CD_NIV e CD_RENAVAM têm índice (V13), mas não são únicos no banco: havendo
+    // duplicidade em dados antigos, vale a menor placa (a ordem sai do próprio índice)
+    Optional<Moto> findFirstByNivOrderByPlacaAsc(String niv);
+
+    Optional<Moto> findFirstByRenavamOrderByPlacaAsc(Long renavam);
+}
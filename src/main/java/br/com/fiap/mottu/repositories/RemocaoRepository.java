@@ -0,0 +1,22 @@
+package br.com.fiap.mottu.repositories;
+
+import br.com.fiap.mottu.models.Remocao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface RemocaoRepository extends JpaRepository<Remocao, Remocao.Chave> {
+
+    // CPF pode voltar a ser cadastrado: nesse caso vale a linha atual, não a remoção
+    @Query("select r.id from remocao r where r.entidade = 'usuario' and r.removidoEm >= :desde and r.removidoEm < :ate "
+            + "and not exists (select 1 from usuario u where u.cpf = r.id) order by r.removidoEm, r.id")
+    List<String> usuariosRemovidos(LocalDateTime desde, LocalDateTime ate);
+
+    @Query("select r.id from remocao r where r.entidade = 'funcionario' and r.removidoEm >= :desde and r.removidoEm < :ate "
+            + "order by r.removidoEm, r.id")
+    List<String> funcionariosRemovidos(LocalDateTime desde, LocalDateTime ate);
+}
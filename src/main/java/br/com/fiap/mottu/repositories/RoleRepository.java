@@ -1,10 +1,17 @@
 package br.com.fiap.mottu.repositories;
 
 import br.com.fiap.mottu.models.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
+@Transactional(readOnly = true)
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Consultada a cada cadastro de funcionário; a tabela quase nunca muda
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByNome(String nome);
 }
\ No newline at end of file
@@ -1,8 +1,90 @@
 package br.com.fiap.mottu.repositories;
 
 import br.com.fiap.mottu.models.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Consultas somente-leitura: com réplica configurada (DataSourceConfig), vão para ela
+@Transactional(readOnly = true)
 public interface UsuarioRepository extends JpaRepository<Usuario, String> {
 
+    // Endereco e Moto são LAZY: sem o entity graph, cada usuário lido geraria mais 2 SELECTs
+    @Override
+    @EntityGraph(attributePaths = {"endereco", "placa"})
+    List<Usuario> findAll();
+
+    // Leitura que antecede alteração e remoção: sempre na primária, nunca uma cópia atrasada
+    @Override
+    @Transactional
+    @EntityGraph(attributePaths = {"endereco", "placa"})
+    Optional<Usuario> findById(String cpf);
+
+    // Remoção num único DELETE, sem carregar a entidade antes; 0 quando o CPF não existe
+    @Transactional
+    @Modifying
+    @Query("delete from usuario u where u.cpf = :cpf")
+    int removerPorCpf(String cpf);
+
+    // PATCH num único UPDATE, só na versão informada (0 linhas: CPF inexistente ou versão
+    // vencida). Campo null fica como está; DT_ATUALIZACAO vem de quem chama, porque
+    // @UpdateTimestamp não vale para UPDATE em massa
+    @Transactional
+    @Modifying
+    @Query("update usuario u set u.nome = coalesce(:nome, u.nome), "
+            + "u.dataNascimento = coalesce(:dataNascimento, u.dataNascimento), "
+            + "u.atualizadoEm = :atualizadoEm, u.versao = u.versao + 1 "
+            + "where u.cpf = :cpf and u.versao = :versao")
+    int alterar(String cpf, long versao, String nome, Date dataNascimento, LocalDateTime atualizadoEm);
+
+    // Paginação por chave (keyset): WHERE CD_CPF > ? ORDER BY CD_CPF, sem OFFSET
+    @EntityGraph(attributePaths = {"endereco", "placa"})
+    List<Usuario> findByOrderByCpfAsc(Limit limit);
+
+    @EntityGraph(attributePaths = {"endereco", "placa"})
+    List<Usuario> findByCpfGreaterThanOrderByCpfAsc(String cpf, Limit limit);
+
+    // Carga do diretório em cache (UsuarioCachingService), em páginas por CPF. Da primária:
+    // lido da réplica atrasada, um usuário recém-removido ou alterado voltaria ao cache
+    // sob a versão nova. A paginação da API (findByOrderByCpfAsc) segue na réplica
+    @Transactional
+    @EntityGraph(attributePaths = {"endereco", "placa"})
+    @Query("select u from usuario u order by u.cpf")
+    List<Usuario> diretorio(Limit limit);
+
+    @Transactional
+    @EntityGraph(attributePaths = {"endereco", "placa"})
+    @Query("select u from usuario u where u.cpf > :cpf order by u.cpf")
+    List<Usuario> diretorioApos(String cpf, Limit limit);
+
+    // Sincronização incremental: alterados em [desde, ate), por (DT_ATUALIZACAO, CD_CPF) como chave
+    @EntityGraph(attributePaths = {"endereco", "placa"})
+    @Query("select u from usuario u where u.atualizadoEm >= :desde and u.atualizadoEm < :ate order by u.atualizadoEm, u.cpf")
+    List<Usuario> alteradosDesde(LocalDateTime desde, LocalDateTime ate, Limit limit);
+
+    @EntityGraph(attributePaths = {"endereco", "placa"})
+    @Query("select u from usuario u where (u.atualizadoEm > :desde or (u.atualizadoEm = :desde and u.cpf > :cpf)) "
+            + "and u.atualizadoEm < :ate order by u.atualizadoEm, u.cpf")
+    List<Usuario> alteradosApos(LocalDateTime desde, String cpf, LocalDateTime ate, Limit limit);
+
+    // Leitura em streaming (cursor JDBC) para exportação; o fetch size controla
+    // quantas linhas o driver traz por ida ao banco
+    @Query("select u from usuario u join fetch u.endereco join fetch u.placa")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Usuario> streamAll();
 }
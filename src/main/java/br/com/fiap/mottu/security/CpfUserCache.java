@@ -0,0 +1,31 @@
+package br.com.fiap.mottu.security;
+
+import br.com.fiap.mottu.utils.Cpf;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+// O login aceita o CPF com ou sem pontuação; a entrada em cache é sempre a do CPF canônico
+// (o username de FuncionarioUserDetails), a mesma que o FuncionarioCachingService remove
+public class CpfUserCache implements UserCache {
+
+    private final UserCache alvo;
+
+    public CpfUserCache(UserCache alvo) {
+        this.alvo = alvo;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return alvo.getUserFromCache(Cpf.normalizar(username));
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        alvo.putUserInCache(user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        alvo.removeUserFromCache(Cpf.normalizar(username));
+    }
+}
@@ -6,32 +6,40 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+// Cópia imutável do que o login precisa: vai para o cache de UserDetails,
+// então não guarda a entidade (nem o grafo de endereço/papéis)
 public class FuncionarioUserDetails implements UserDetails {
 
-    private final Funcionario funcionario;
+    private final String cpf;
+    private final String senha;
+    private final Set<GrantedAuthority> authorities;
 
     public FuncionarioUserDetails(Funcionario funcionario) {
-        this.funcionario = funcionario;
+        this.cpf = funcionario.getCpf();
+        this.senha = funcionario.getSenha();
+        this.authorities = funcionario.getRoles() == null
+                ? Set.of()
+                : funcionario.getRoles().stream()
+                        .map(r -> new SimpleGrantedAuthority(r.getNome()))
+                        .collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        if (funcionario.getRoles() == null) return java.util.List.of();
-        return funcionario.getRoles().stream()
-                .map(r -> new SimpleGrantedAuthority(r.getNome()))
-                .collect(Collectors.toSet());
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return funcionario.getSenha();
+        return senha;
     }
 
     @Override
     public String getUsername() {
-        return funcionario.getCpf();
+        return cpf;
     }
 
     @Override
@@ -45,4 +53,4 @@ public class FuncionarioUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() { return true; }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package br.com.fiap.mottu.security;
 
 import br.com.fiap.mottu.models.Funcionario;
 import br.com.fiap.mottu.repositories.FuncionarioRepository;
+import br.com.fiap.mottu.utils.Cpf;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -18,7 +19,8 @@ public class FuncionarioUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String cpf) throws UsernameNotFoundException {
-        Funcionario f = repository.findByCpf(cpf)
+        // Mesma chave gravada no banco (CD_CPF canônico): a consulta usa o índice único
+        Funcionario f = repository.findByCpf(Cpf.normalizar(cpf))
                 .orElseThrow(() -> new UsernameNotFoundException("CPF não encontrado: " + cpf));
         return new FuncionarioUserDetails(f);
     }
@@ -0,0 +1,44 @@
+package br.com.fiap.mottu.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+// Mede a latência de cada tentativa de login (mottu.login), por resultado
+public class MedidoAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final MeterRegistry registry;
+
+    public MedidoAuthenticationProvider(AuthenticationProvider delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Timer.Sample amostra = Timer.start(registry);
+        String resultado = "falha";
+        try {
+            Authentication autenticado = delegate.authenticate(authentication);
+            if (autenticado != null) resultado = "sucesso";
+            return autenticado;
+        } catch (AuthenticationException ex) {
+            resultado = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            amostra.stop(Timer.builder("mottu.login")
+                    .description("Tempo de autenticação (busca do usuário + BCrypt)")
+                    .tag("resultado", resultado)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.fiap.mottu.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Executa o BCrypt (caro em CPU) num pool limitado. Com a fila cheia a tentativa
+// de login falha na hora, em vez de somar mais uma thread do Tomcat disputando CPU.
+public class PoolPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Duration esperaMaxima;
+
+    public PoolPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, Duration esperaMaxima) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException ex) {
+            throw new AuthenticationServiceException("Muitos logins simultâneos. Tente novamente.", ex);
+        }
+
+        try {
+            return futuro.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            futuro.cancel(true);
+            throw new AuthenticationServiceException("Tempo esgotado ao verificar a senha.", ex);
+        } catch (InterruptedException ex) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Verificação de senha interrompida.", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw new AuthenticationServiceException("Falha ao verificar a senha.", ex.getCause());
+        }
+    }
+}
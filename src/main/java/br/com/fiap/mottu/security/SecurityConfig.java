@@ -1,14 +1,31 @@
 package br.com.fiap.mottu.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
@@ -19,29 +36,73 @@ public class SecurityConfig {
         this.userDetailsService = userDetailsService;
     }
 
+    // Pool fixo para o BCrypt; a fila limitada recusa o excesso (AbortPolicy)
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService bcryptExecutor(@Value("${mottu.seguranca.bcrypt.threads:0}") int threads,
+                                   @Value("${mottu.seguranca.bcrypt.fila:200}") int fila,
+                                   MeterRegistry registry) {
+        int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), r -> {
+                    Thread t = new Thread(r, "bcrypt-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        return ExecutorServiceMetrics.monitor(registry, executor, "bcrypt");
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(ExecutorService bcryptExecutor,
+                                           @Value("${mottu.seguranca.bcrypt.espera-maxima:5s}") Duration esperaMaxima) {
+        return new PoolPasswordEncoder(new BCryptPasswordEncoder(), bcryptExecutor, esperaMaxima);
+    }
+
+    // UserDetails por CPF canônico; o FuncionarioCachingService remove a entrada ao salvar/remover
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    UserCache userCache(CacheManager cacheManager) {
+        return new CpfUserCache(new SpringCacheBasedUserCache(cacheManager.getCache("funcionariosUserDetails")));
     }
 
     @Bean
-    DaoAuthenticationProvider authenticationProvider() {
+    AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder, UserCache userCache,
+                                                  MeterRegistry registry) {
         DaoAuthenticationProvider p = new DaoAuthenticationProvider();
-        p.setPasswordEncoder(passwordEncoder());
+        p.setPasswordEncoder(passwordEncoder);
         p.setUserDetailsService(userDetailsService);
+        p.setUserCache(userCache);
         p.setHideUserNotFoundExceptions(false);
-        return p;
+        return new MedidoAuthenticationProvider(p, registry);
+    }
+
+    // Actuator: coletores (Prometheus) não fazem login por formulário, então
+    // esta cadeia aceita HTTP Basic e não cria sessão
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/**")
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/actuator/health").permitAll()
+                .anyRequest().hasRole("ADMIN")
+            )
+            .httpBasic(Customizer.withDefaults())
+            .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
     }
 
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
         http
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/css/**","/js/**","/images/**").permitAll()
-                .requestMatchers("/login","/error","/actuator/health").permitAll()
+                .requestMatchers("/login","/error").permitAll()
                 .requestMatchers("/usuarios/ui/**").hasAnyRole("ADMIN","USER")
-                .requestMatchers("/usuarios/**","/funcionarios/**").hasRole("ADMIN")
+                .requestMatchers("/usuarios/**","/funcionarios/**","/motos/**","/caches/**","/alteracoes/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .formLogin(f -> f
@@ -0,0 +1,263 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Feed de alterações (publish/subscribe) entregue por Server-Sent Events.
+// Cada escrita recebe uma sequência crescente e fica num anel com as últimas N
+// alterações, de onde o cliente que reconecta recebe o que perdeu.
+// Quem publica só enfileira (sem I/O): cada assinante tem fila própria e limitada,
+// esvaziada por um pool de envio. Assinante que não acompanha (fila cheia) é
+// desconectado; ao reconectar com Last-Event-ID retoma pelo anel.
+@Service
+public class AlteracoesService {
+
+    // Evento "reinicio": o anel não cobre a sequência pedida; o cliente recarrega
+    // a lista (/todos) e segue a partir da sequência informada
+    static final String EVENTO_ALTERACAO = "alteracao";
+    static final String EVENTO_REINICIO = "reinicio";
+
+    private final AlteracaoDTO[] anel;
+    private final int filaPorAssinante;
+    // Começa no relógio (em microssegundos) para continuar crescendo depois de um
+    // restart: um Last-Event-ID de antes do restart cai fora do anel e vira reinício
+    private long ultima = System.currentTimeMillis() * 1000;
+    // Última sequência antes desta execução: o anel só tem as posteriores a ela
+    private final long inicial = ultima;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService envio;
+    private final ScheduledExecutorService batimento;
+    private final Counter desconectados;
+
+    public AlteracoesService(@Value("${mottu.alteracoes.capacidade:1024}") int capacidade,
+                             @Value("${mottu.alteracoes.fila-por-assinante:256}") int filaPorAssinante,
+                             @Value("${mottu.alteracoes.threads:2}") int threads,
+                             @Value("${mottu.alteracoes.batimento:15s}") Duration intervaloBatimento,
+                             MeterRegistry registry) {
+        this.anel = new AlteracaoDTO[capacidade];
+        this.filaPorAssinante = filaPorAssinante;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.envio = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "alteracoes-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.batimento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "alteracoes-batimento");
+            t.setDaemon(true);
+            return t;
+        });
+        long ms = intervaloBatimento.toMillis();
+        batimento.scheduleAtFixedRate(this::baterCoracao, ms, ms, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("mottu.alteracoes.assinantes", assinantes, Set::size)
+                .description("Conexões abertas no feed de alterações")
+                .register(registry);
+        this.desconectados = Counter.builder("mottu.alteracoes.desconectados")
+                .description("Assinantes desconectados por não acompanharem o feed")
+                .register(registry);
+    }
+
+    public AlteracaoDTO criado(String entidade, Object id) {
+        return publicar(entidade, id, AlteracaoDTO.Tipo.CRIADO);
+    }
+
+    public AlteracaoDTO atualizado(String entidade, Object id) {
+        return publicar(entidade, id, AlteracaoDTO.Tipo.ATUALIZADO);
+    }
+
+    public AlteracaoDTO removido(String entidade, Object id) {
+        return publicar(entidade, id, AlteracaoDTO.Tipo.REMOVIDO);
+    }
+
+    // Sequência, anel e filas andam juntos sob o lock para que cada assinante
+    // receba as alterações em ordem; offer() não bloqueia
+    public synchronized AlteracaoDTO publicar(String entidade, Object id, AlteracaoDTO.Tipo tipo) {
+        AlteracaoDTO alteracao = new AlteracaoDTO(++ultima, entidade, String.valueOf(id), tipo, Instant.now());
+        anel[(int) (alteracao.sequencia() % anel.length)] = alteracao;
+        for (Assinante a : assinantes) {
+            if (!a.aceita(alteracao)) continue;
+            if (a.fila.offer(alteracao)) a.agendar();
+            else a.atrasado();
+        }
+        return alteracao;
+    }
+
+    public synchronized long ultimaSequencia() {
+        return ultima;
+    }
+
+    public SseEmitter assinar(Long desde, String entidade, long tempoLimiteMs) {
+        SseEmitter emitter = new SseEmitter(tempoLimiteMs);
+        Assinante a = assinar(desde, entidade, new Saida() {
+            @Override
+            public void enviar(String evento, Long id, Object dados) throws IOException {
+                SseEmitter.SseEventBuilder e = SseEmitter.event().name(evento).data(dados, MediaType.APPLICATION_JSON);
+                if (id != null) e.id(Long.toString(id));
+                emitter.send(e);
+            }
+
+            @Override
+            public void batimento() throws IOException {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+
+            @Override
+            public void encerrar() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(a::cancelar);
+        emitter.onTimeout(a::cancelar);
+        emitter.onError(erro -> a.cancelar());
+        return emitter;
+    }
+
+    // desde == null: só alterações novas. Fora do anel (ou de outra execução): reinício
+    synchronized Assinante assinar(Long desde, String entidade, Saida saida) {
+        Assinante a = new Assinante(entidade, saida, filaPorAssinante);
+        if (desde != null) {
+            long primeira = Math.max(ultima - anel.length + 1, inicial + 1);
+            if (desde > ultima || desde < primeira - 1) {
+                a.reinicio = ultima;
+            } else {
+                for (long s = desde + 1; s <= ultima; s++) {
+                    AlteracaoDTO alteracao = anel[(int) (s % anel.length)];
+                    if (a.aceita(alteracao)) a.pendentes.add(alteracao);
+                }
+            }
+        }
+        assinantes.add(a);
+        a.agendar();
+        return a;
+    }
+
+    public int assinantes() {
+        return assinantes.size();
+    }
+
+    private void baterCoracao() {
+        for (Assinante a : assinantes) {
+            a.batimentoPendente.set(true);
+            a.agendar();
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        batimento.shutdownNow();
+        assinantes.forEach(Assinante::cancelar);
+        envio.shutdownNow();
+    }
+
+    interface Saida {
+        void enviar(String evento, Long id, Object dados) throws IOException;
+
+        void batimento() throws IOException;
+
+        void encerrar();
+    }
+
+    final class Assinante {
+        final String entidade;
+        final Saida saida;
+        final Queue<AlteracaoDTO> fila;
+        // Preenchidos antes de entrar em "assinantes"; lidos só pela thread de envio
+        final List<AlteracaoDTO> pendentes = new ArrayList<>();
+        Long reinicio;
+
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private final AtomicBoolean batimentoPendente = new AtomicBoolean();
+        private volatile boolean encerrado;
+
+        Assinante(String entidade, Saida saida, int capacidade) {
+            this.entidade = entidade;
+            this.saida = saida;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+        }
+
+        boolean aceita(AlteracaoDTO alteracao) {
+            return entidade == null || entidade.equals(alteracao.entidade());
+        }
+
+        // No máximo uma tarefa de envio por assinante, na fila do pool
+        void agendar() {
+            if (encerrado || !agendado.compareAndSet(false, true)) return;
+            try {
+                envio.execute(this::drenar);
+            } catch (RuntimeException ex) {
+                cancelar();
+            }
+        }
+
+        private void drenar() {
+            try {
+                if (reinicio != null) {
+                    saida.enviar(EVENTO_REINICIO, reinicio, Map.of("sequencia", reinicio));
+                    reinicio = null;
+                }
+                for (AlteracaoDTO alteracao : pendentes) {
+                    saida.enviar(EVENTO_ALTERACAO, alteracao.sequencia(), alteracao);
+                }
+                pendentes.clear();
+                AlteracaoDTO alteracao;
+                while (!encerrado && (alteracao = fila.poll()) != null) {
+                    saida.enviar(EVENTO_ALTERACAO, alteracao.sequencia(), alteracao);
+                }
+                if (batimentoPendente.getAndSet(false)) saida.batimento();
+            } catch (IOException | RuntimeException ex) {
+                cancelar();
+                return;
+            } finally {
+                agendado.set(false);
+            }
+            // Publicação que chegou entre o último poll() e a liberação do agendamento
+            if (!fila.isEmpty()) agendar();
+        }
+
+        // O encerramento da conexão pode esperar um envio lento em andamento:
+        // fica com o pool de envio, nunca com quem publicou
+        void atrasado() {
+            desconectados.increment();
+            cancelar();
+            try {
+                envio.execute(() -> {
+                    try { saida.encerrar(); } catch (RuntimeException ignored) {}
+                });
+            } catch (RuntimeException ignored) {}
+        }
+
+        void cancelar() {
+            encerrado = true;
+            assinantes.remove(this);
+        }
+    }
+}
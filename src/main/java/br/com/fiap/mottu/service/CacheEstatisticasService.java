@@ -0,0 +1,73 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.cache.LruCache;
+import br.com.fiap.mottu.cache.RenovacaoAntecipadaCache;
+import br.com.fiap.mottu.dto.CacheEstatisticasDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class CacheEstatisticasService {
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    public List<CacheEstatisticasDTO> listar() {
+        Stream<CacheEstatisticasDTO> spring = cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(this::toDTO);
+        return Stream.concat(spring, regioesHibernate()).toList();
+    }
+
+    // Regiões do cache de segundo nível; o Hibernate não conta evicções
+    private Stream<CacheEstatisticasDTO> regioesHibernate() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(stats.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(regiao -> {
+                    CacheRegionStatistics r = stats.getCacheRegionStatistics(regiao);
+                    long total = r.getHitCount() + r.getMissCount();
+                    return new CacheEstatisticasDTO("hibernate:" + regiao, "HIBERNATE_L2",
+                            r.getElementCountInMemory(), r.getHitCount(), r.getMissCount(), -1,
+                            total == 0 ? 1.0 : (double) r.getHitCount() / total);
+                });
+    }
+
+    private CacheEstatisticasDTO toDTO(Cache cache) {
+        if (cache instanceof RenovacaoAntecipadaCache renovacao) {
+            cache = renovacao.alvo();
+        }
+        if (cache instanceof CaffeineCache caffeine) {
+            CacheStats stats = caffeine.getNativeCache().stats();
+            return new CacheEstatisticasDTO(cache.getName(), "W_TINY_LFU",
+                    caffeine.getNativeCache().estimatedSize(),
+                    stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate());
+        }
+        if (cache instanceof LruCache lru) {
+            long acertos = lru.acertos();
+            long faltas = lru.faltas();
+            long total = acertos + faltas;
+            return new CacheEstatisticasDTO(cache.getName(), "LRU",
+                    lru.tamanho(), acertos, faltas, lru.eviccoes(), total == 0 ? 1.0 : (double) acertos / total);
+        }
+        return new CacheEstatisticasDTO(cache.getName(), cache.getClass().getSimpleName(), -1, -1, -1, -1, -1);
+    }
+}
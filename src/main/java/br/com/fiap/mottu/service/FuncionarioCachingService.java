@@ -1,40 +1,197 @@
 package br.com.fiap.mottu.service;
 
+import br.com.fiap.mottu.cache.CargaAgrupada;
 import br.com.fiap.mottu.models.Funcionario;
 import br.com.fiap.mottu.repositories.FuncionarioRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 
 @Service
 public class FuncionarioCachingService {
 
+    private static final Logger log = LoggerFactory.getLogger(FuncionarioCachingService.class);
+
+    // Ids por chamada em findAllById
+    public static final int MAXIMO_LOTE = 500;
+
     @Autowired
     FuncionarioRepository repository;
 
-    @Cacheable(value = "funcionariosFindAll")
+    @Autowired
+    CacheManager cacheManager;
+
+    // Lista e páginas ficam sob a versão atual. Escritas avançam a versão:
+    // a lista é corrigida e movida, as páginas antigas expiram sozinhas.
+    private final AtomicLong versao = new AtomicLong();
+
+    // Faltas simultâneas de ids diferentes (várias chamadas a /funcionarios/{id} na mesma
+    // tela) viram uma única consulta; a espera só acontece quando o id não está em cache
+    @Value("${mottu.agrupamento.janela:2ms}")
+    Duration janelaAgrupamento;
+
+    @Value("${mottu.agrupamento.maximo:100}")
+    int maximoAgrupamento;
+
+    private CargaAgrupada<Long, Funcionario> cargaPorId;
+
+    @PostConstruct
+    void iniciar() {
+        cargaPorId = new CargaAgrupada<>(this::carregarPorIds, janelaAgrupamento, maximoAgrupamento);
+    }
+
+    public long versao() {
+        return versao.get();
+    }
+
+    @Cacheable(value = "funcionariosFindAll", key = "#root.target.versao()", sync = true)
     public List<Funcionario> cacheFindAll() {
         return repository.findAll();
     }
 
-    @Cacheable(value = "funcionariosFindById", key = "#id")
+    @Cacheable(value = "funcionariosFindById", key = "#id", sync = true)
     public Optional<Funcionario> findById(Long id) {
-        return repository.findById(id);
+        return Optional.ofNullable(cargaPorId.carregar(id));
     }
 
-    @Cacheable(value = "funcionariosFindByPage", key = "#req")
+    // Multi-get: acertos saem do cache e todas as faltas vêm num único findAllById.
+    // Ids inexistentes também ficam em cache (vazio), como no findById
+    public List<Funcionario> findAllById(Collection<Long> ids) {
+        if (ids.size() > MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Máximo de " + MAXIMO_LOTE + " ids por consulta.");
+        }
+        Cache cache = cacheManager.getCache("funcionariosFindById");
+        Map<Long, Funcionario> encontrados = new LinkedHashMap<>();
+        List<Long> faltas = new ArrayList<>();
+        for (Long id : ids) {
+            if (id == null || encontrados.containsKey(id)) continue;
+            Cache.ValueWrapper w = cache == null ? null : cache.get(id);
+            if (w == null) {
+                faltas.add(id);
+            }
+            encontrados.put(id, w == null ? null : (Funcionario) w.get());
+        }
+        if (!faltas.isEmpty()) {
+            Map<Long, Funcionario> carregados = carregarPorIds(faltas);
+            for (Long id : faltas) {
+                Funcionario f = carregados.get(id);
+                // putIfAbsent: um salvo(...) concorrente tem o valor mais novo e prevalece
+                if (cache != null) {
+                    Cache.ValueWrapper atual = cache.putIfAbsent(id, f);
+                    if (atual != null) f = (Funcionario) atual.get();
+                }
+                encontrados.put(id, f);
+            }
+        }
+        return encontrados.values().stream().filter(Objects::nonNull).toList();
+    }
+
+    @Cacheable(value = "funcionariosFindByPage", key = "{#root.target.versao(), #req}", sync = true)
     public Page<Funcionario> findAll(PageRequest req) {
         return repository.findAll(req);
     }
 
-    @CacheEvict(value = {"funcionariosFindAll", "funcionariosFindById", "funcionariosFindByPage"}, allEntries = true)
+    // Write-through: substitui apenas a entrada do id salvo; o próximo login
+    // desse CPF recarrega senha e papéis
+    @CachePut(value = "funcionariosFindById", key = "#funcionario.id")
+    @CacheEvict(value = "funcionariosUserDetails", key = "#funcionario.cpf")
+    public Optional<Funcionario> salvo(Funcionario funcionario) {
+        corrigirLista(lista -> {
+            List<Funcionario> nova = new ArrayList<>(lista.size() + 1);
+            boolean substituido = false;
+            for (Funcionario f : lista) {
+                if (Objects.equals(f.getId(), funcionario.getId())) {
+                    nova.add(funcionario);
+                    substituido = true;
+                } else {
+                    nova.add(f);
+                }
+            }
+            if (!substituido) nova.add(funcionario);
+            return nova;
+        });
+        return Optional.of(funcionario);
+    }
+
+    // Sem o CPF (funcionário fora do cache quando foi removido), nenhum login em cache
+    // pode continuar valendo
+    @Caching(evict = {
+            @CacheEvict(value = "funcionariosFindById", key = "#id"),
+            @CacheEvict(value = "funcionariosUserDetails", key = "#cpf", condition = "#cpf != null"),
+            @CacheEvict(value = "funcionariosUserDetails", allEntries = true, condition = "#cpf == null")
+    })
+    public void removido(Long id, String cpf) {
+        corrigirLista(lista -> lista.stream().filter(f -> !Objects.equals(f.getId(), id)).toList());
+    }
+
+    // CPF alterado: o login pelo CPF antigo não pode continuar valendo até o TTL
+    @CacheEvict(value = "funcionariosUserDetails", key = "#cpf")
+    public void loginRevogado(String cpf) {
+    }
+
+    @CacheEvict(value = "funcionariosUserDetails", allEntries = true)
+    public void loginsRevogados() {
+    }
+
+    // O que já está em memória (por id ou na lista), sem ir ao banco nem disparar carga.
+    // É a instância compartilhada com os leitores: não alterar
+    @SuppressWarnings("unchecked")
+    public Optional<Funcionario> emCache(Long id) {
+        Cache porId = cacheManager.getCache("funcionariosFindById");
+        Cache.ValueWrapper w = porId == null ? null : porId.get(id);
+        if (w != null && w.get() != null) return Optional.of((Funcionario) w.get());
+        Cache todos = cacheManager.getCache("funcionariosFindAll");
+        List<Funcionario> lista = todos == null ? null : todos.get(versao.get(), List.class);
+        if (lista == null) return Optional.empty();
+        return lista.stream().filter(f -> Objects.equals(f.getId(), id)).findFirst();
+    }
+
+    @CacheEvict(value = {"funcionariosFindAll", "funcionariosFindById", "funcionariosFindByPage",
+            "funcionariosUserDetails"}, allEntries = true)
     public void limparCache() {
-        System.out.println("Limpando o cache!");
+        versao.incrementAndGet();
+        log.debug("Caches de funcionários limpos");
+    }
+
+    private Map<Long, Funcionario> carregarPorIds(Collection<Long> ids) {
+        Map<Long, Funcionario> porId = new HashMap<>();
+        repository.findAllById(ids).forEach(f -> porId.put(f.getId(), f));
+        return porId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void corrigirLista(UnaryOperator<List<Funcionario>> correcao) {
+        Cache cache = cacheManager.getCache("funcionariosFindAll");
+        long anterior = versao.getAndIncrement();
+        if (cache == null) return;
+
+        List<Funcionario> lista = cache.get(anterior, List.class);
+        cache.evict(anterior);
+        if (lista != null) {
+            cache.put(anterior + 1, correcao.apply(lista));
+        }
     }
-}
\ No newline at end of file
+}
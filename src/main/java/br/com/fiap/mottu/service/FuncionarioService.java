@@ -1,16 +1,26 @@
 package br.com.fiap.mottu.service;
 
-import br.com.fiap.mottu.dto.EnderecoDTO;
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import br.com.fiap.mottu.dto.CursorPaginaDTO;
 import br.com.fiap.mottu.dto.FuncionarioDTO;
-import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.dto.FuncionarioParcialDTO;
+import br.com.fiap.mottu.mapper.FuncionarioMapper;
 import br.com.fiap.mottu.models.Funcionario;
 import br.com.fiap.mottu.repositories.FuncionarioRepository;
+import br.com.fiap.mottu.utils.Cpf;
+import br.com.fiap.mottu.utils.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Service
 public class FuncionarioService {
 
@@ -20,29 +30,80 @@ public class FuncionarioService {
     @Autowired
     private FuncionarioCachingService cachingService;
 
+    @Autowired
+    private FuncionarioMapper mapper;
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    private static final String TIPO_CURSOR = "funcionario";
+
     @Transactional(readOnly = true)
     public Page<FuncionarioDTO> paginar(PageRequest req) {
         Page<Funcionario> funcionarios = cachingService.findAll(req);
 
-        return funcionarios.map(i -> new FuncionarioDTO(
-                i.getNome(),
-                i.getCpf(),
-                i.getSenha(),
-                toDTO(i.getEndereco())
-        ));
+        return funcionarios.map(mapper::toDTO);
     }
 
-    private EnderecoDTO toDTO(Endereco e) {
-        if (e == null) return null;
-        return new EnderecoDTO(
-                e.getCep(),
-                e.getPais(),
-                e.getEstado(),
-                e.getCidade(),
-                e.getBairro(),
-                e.getNumero(),
-                e.getLogradouro(),
-                e.getComplemento()
+    @Transactional(readOnly = true)
+    public CursorPaginaDTO<FuncionarioDTO> paginarPorCursor(String cursor, Integer size, boolean incluirTotal) {
+        int tamanho = Cursor.tamanho(size);
+        // Busca um a mais só para saber se existe próxima página
+        Limit limite = Limit.of(tamanho + 1);
+
+        List<Funcionario> funcionarios = cursor == null || cursor.isBlank()
+                ? repository.findByOrderByIdAsc(limite)
+                : repository.findByIdGreaterThanOrderByIdAsc(Long.valueOf(Cursor.decodificar(TIPO_CURSOR, cursor)), limite);
+
+        String proximo = null;
+        if (funcionarios.size() > tamanho) {
+            funcionarios = funcionarios.subList(0, tamanho);
+            proximo = Cursor.codificar(TIPO_CURSOR, String.valueOf(funcionarios.get(tamanho - 1).getId()));
+        }
+
+        return new CursorPaginaDTO<>(
+                funcionarios.stream().map(mapper::toDTO).toList(),
+                proximo,
+                incluirTotal ? repository.count() : null
         );
     }
-}
\ No newline at end of file
+
+    // DELETE e marca de remoção na mesma transação: a sincronização incremental nunca vê
+    // o funcionário sumir sem a remoção correspondente. false quando o id não existe
+    @Transactional
+    public boolean remover(Long id) {
+        if (repository.removerPorId(id) == 0) return false;
+        sincronizacaoService.removido(AlteracaoDTO.FUNCIONARIO, id);
+        return true;
+    }
+
+    // PATCH: um único UPDATE condicionado à versão, sem carregar a entidade. Vazio quando o id
+    // não existe; ObjectOptimisticLockingFailureException quando a versão já não é a atual.
+    // Se o cache tinha exatamente a versão alterada, a nova sai de uma cópia dela; senão é
+    // relida da primária
+    public Optional<Funcionario> alterar(Long id, FuncionarioParcialDTO dto) {
+        LocalDateTime agora = LocalDateTime.now();
+        String cpf = dto.cpf() == null ? null : Cpf.normalizar(dto.cpf());
+        if (repository.alterar(id, dto.versao(), dto.nome(), cpf, dto.senha(), agora) == 0) {
+            if (!repository.existsById(id)) return Optional.empty();
+            throw new ObjectOptimisticLockingFailureException(Funcionario.class, id);
+        }
+        Optional<Funcionario> anterior = cachingService.emCache(id).filter(f -> f.getVersao() == dto.versao());
+        // CPF trocado: o login pelo antigo deixa de valer; sem a versão anterior, não se sabe qual era
+        if (cpf != null) {
+            if (anterior.isEmpty()) cachingService.loginsRevogados();
+            else if (!cpf.equals(anterior.get().getCpf())) cachingService.loginRevogado(anterior.get().getCpf());
+        }
+        Optional<Funcionario> salvo = anterior
+                .map(f -> {
+                    Funcionario copia = mapper.copiar(f);
+                    mapper.alterar(dto, copia);
+                    copia.setAtualizadoEm(agora);
+                    copia.setVersao(dto.versao() + 1);
+                    return copia;
+                })
+                .or(() -> repository.findById(id));
+        salvo.ifPresent(cachingService::salvo);
+        return salvo;
+    }
+}
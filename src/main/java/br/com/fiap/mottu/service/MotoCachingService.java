@@ -0,0 +1,102 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.repositories.MotoRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Moto por placa, NIV ou RENAVAM. A placa é o id: a entidade vem da região "motos" do cache
+// de segundo nível. Os caches "motosPorNiv" e "motosPorRenavam" guardam só a placa, então
+// existe uma única cópia de cada moto em memória, atualizada pelo próprio Hibernate nas escritas.
+@Service
+public class MotoCachingService {
+
+    // Placas por chamada em buscarPorPlacas
+    public static final int MAXIMO_LOTE = 500;
+
+    @Autowired
+    MotoRepository repository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    EntityManager entityManager;
+
+    public Optional<Moto> findByPlaca(String placa) {
+        String p = normalizar(placa);
+        return p.isEmpty() ? Optional.empty() : repository.findById(p);
+    }
+
+    public Optional<Moto> findByNiv(String niv) {
+        String n = normalizar(niv);
+        if (n.isEmpty()) return Optional.empty();
+        return porIdentificador("motosPorNiv", n, m -> n.equals(m.getNiv()),
+                () -> repository.findFirstByNivOrderByPlacaAsc(n));
+    }
+
+    public Optional<Moto> findByRenavam(Long renavam) {
+        if (renavam == null) return Optional.empty();
+        return porIdentificador("motosPorRenavam", renavam, m -> renavam.equals(m.getRenavam()),
+                () -> repository.findFirstByRenavamOrderByPlacaAsc(renavam));
+    }
+
+    // Várias placas de uma vez: as que estão no segundo nível saem dele e as demais
+    // vêm num único SELECT ... WHERE CD_PLACA IN (...). Ordem do pedido, sem repetição
+    @Transactional(readOnly = true)
+    public List<Moto> buscarPorPlacas(Collection<String> placas) {
+        List<String> ids = placas.stream().map(MotoCachingService::normalizar)
+                .filter(p -> !p.isEmpty()).distinct().toList();
+        if (ids.isEmpty()) return List.of();
+        if (ids.size() > MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Máximo de " + MAXIMO_LOTE + " placas por consulta.");
+        }
+        // Sem CacheMode explícito o multiLoad ignora o segundo nível e lê todas do banco
+        return entityManager.unwrap(Session.class).byMultipleIds(Moto.class)
+                .with(CacheMode.NORMAL)
+                .enableOrderedReturn(true)
+                .multiLoad(ids)
+                .stream().filter(Objects::nonNull).toList();
+    }
+
+    @CacheEvict(value = {"motosPorNiv", "motosPorRenavam"}, allEntries = true)
+    public void limparCache() {
+    }
+
+    // Placa e NIV são gravados em maiúsculas; a placa também aparece como "ABC-1234"
+    public static String normalizar(String identificador) {
+        if (identificador == null) return "";
+        return identificador.strip().replace("-", "").toUpperCase(Locale.ROOT);
+    }
+
+    // A placa guardada é conferida na leitura: se a moto mudou de NIV/RENAVAM (alteração do
+    // usuário), a entrada é descartada e a consulta refeita. Ausências não ficam em cache
+    private <K> Optional<Moto> porIdentificador(String nomeCache, K chave, Predicate<Moto> confere,
+                                                Supplier<Optional<Moto>> consulta) {
+        Cache cache = cacheManager.getCache(nomeCache);
+        String placa = cache == null ? null : cache.get(chave, String.class);
+        if (placa != null) {
+            Optional<Moto> moto = repository.findById(placa).filter(confere);
+            if (moto.isPresent()) return moto;
+            cache.evict(chave);
+        }
+        Optional<Moto> moto = consulta.get();
+        if (cache != null) moto.ifPresent(m -> cache.put(chave, m.getPlaca()));
+        return moto;
+    }
+}
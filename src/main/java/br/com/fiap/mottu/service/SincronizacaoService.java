@@ -0,0 +1,147 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.SincronizacaoDTO;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Remocao;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.repositories.FuncionarioRepository;
+import br.com.fiap.mottu.repositories.RemocaoRepository;
+import br.com.fiap.mottu.repositories.UsuarioRepository;
+import br.com.fiap.mottu.utils.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Sincronização incremental ("o que mudou desde X") a partir de DT_ATUALIZACAO e das
+// marcas de remoção. A janela de cada chamada vai do since até "agora menos a margem":
+// DT_ATUALIZACAO é gravado antes do commit, e uma transação longa poderia gravar uma
+// data já ultrapassada por outro cliente. A margem cobre esse atraso.
+@Service
+public class SincronizacaoService {
+
+    static final int TAMANHO_PADRAO = 500;
+    static final int TAMANHO_MAXIMO = 1000;
+
+    private static final String TIPO_USUARIO = "usuario-changes";
+    private static final String TIPO_FUNCIONARIO = "funcionario-changes";
+    private static final char SEPARADOR = '\u0000';
+    // since ausente: sincronização completa
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private RemocaoRepository remocaoRepository;
+
+    @Value("${mottu.sincronizacao.margem:5s}")
+    private Duration margem;
+
+    @Transactional(readOnly = true)
+    public SincronizacaoDTO<Usuario> usuarios(String since, Integer size) {
+        return sincronizar(TIPO_USUARIO, since, size, Usuario::getAtualizadoEm, Usuario::getCpf,
+                usuarioRepository::alteradosDesde,
+                (p, limite) -> usuarioRepository.alteradosApos(p.desde, p.chave, p.ate, limite),
+                remocaoRepository::usuariosRemovidos);
+    }
+
+    @Transactional(readOnly = true)
+    public SincronizacaoDTO<Funcionario> funcionarios(String since, Integer size) {
+        return sincronizar(TIPO_FUNCIONARIO, since, size, Funcionario::getAtualizadoEm, f -> String.valueOf(f.getId()),
+                funcionarioRepository::alteradosDesde,
+                (p, limite) -> funcionarioRepository.alteradosApos(p.desde, Long.valueOf(p.chave), p.ate, limite),
+                remocaoRepository::funcionariosRemovidos);
+    }
+
+    // Marca a remoção; salvar de novo a mesma chave só atualiza a data
+    @Transactional
+    public void removido(String entidade, Object id) {
+        remocaoRepository.save(new Remocao(entidade, String.valueOf(id), LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)));
+    }
+
+    private <T> SincronizacaoDTO<T> sincronizar(String tipo, String since, Integer size,
+                                                Function<T, LocalDateTime> data, Function<T, String> chave,
+                                                ConsultaInicial<T> desde,
+                                                BiFunction<Posicao, Limit, List<T>> apos,
+                                                BiFunction<LocalDateTime, LocalDateTime, List<String>> removidos) {
+        int tamanho = size == null || size < 1 ? TAMANHO_PADRAO : Math.min(size, TAMANHO_MAXIMO);
+        // DATE do Oracle guarda segundos: a janela também
+        LocalDateTime ate = LocalDateTime.now().minus(margem).truncatedTo(ChronoUnit.SECONDS);
+        Posicao p = posicao(tipo, since, ate);
+
+        if (!p.desde.isBefore(ate)) {
+            return new SincronizacaoDTO<>(List.of(), List.of(), since == null || since.isBlank() ? token(tipo, p.desde, null) : since, true);
+        }
+
+        // Busca um a mais só para saber se a janela coube nesta página
+        Limit limite = Limit.of(tamanho + 1);
+        List<T> alterados = p.chave == null ? desde.buscar(p.desde, ate, limite) : apos.apply(p, limite);
+
+        if (alterados.size() <= tamanho) {
+            return new SincronizacaoDTO<>(alterados, removidos.apply(p.desde, ate), token(tipo, ate, null), true);
+        }
+        alterados = alterados.subList(0, tamanho);
+        T ultimo = alterados.get(tamanho - 1);
+        LocalDateTime corte = data.apply(ultimo);
+        // Remoções no segundo do corte saem na próxima página, que começa nele (>=)
+        return new SincronizacaoDTO<>(alterados, removidos.apply(p.desde, corte),
+                token(tipo, corte, chave.apply(ultimo)), false);
+    }
+
+    // since aceita o "proximo" de uma resposta anterior, um instante ISO-8601
+    // (com ou sem fuso; sem fuso vale o do servidor) ou epoch em milissegundos
+    private static Posicao posicao(String tipo, String since, LocalDateTime ate) {
+        if (since == null || since.isBlank()) return new Posicao(INICIO, null, ate);
+        String valor = since.trim();
+        try {
+            String bruto = Cursor.decodificar(tipo, valor);
+            int i = bruto.indexOf(SEPARADOR);
+            if (i < 0) return new Posicao(LocalDateTime.parse(bruto), null, ate);
+            return new Posicao(LocalDateTime.parse(bruto.substring(0, i)), bruto.substring(i + 1), ate);
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            // não é um token: tenta como data
+        }
+        try {
+            if (valor.chars().allMatch(Character::isDigit)) {
+                return new Posicao(local(Instant.ofEpochMilli(Long.parseLong(valor))), null, ate);
+            }
+            if (valor.endsWith("Z") || valor.matches(".*[+-]\\d{2}:\\d{2}$")) {
+                return new Posicao(local(OffsetDateTime.parse(valor).toInstant()), null, ate);
+            }
+            return new Posicao(LocalDateTime.parse(valor), null, ate);
+        } catch (DateTimeException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Parâmetro since inválido.");
+        }
+    }
+
+    private static LocalDateTime local(Instant instante) {
+        return LocalDateTime.ofInstant(instante, ZoneId.systemDefault()).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static String token(String tipo, LocalDateTime data, String chave) {
+        return Cursor.codificar(tipo, chave == null ? data.toString() : data.toString() + SEPARADOR + chave);
+    }
+
+    private record Posicao(LocalDateTime desde, String chave, LocalDateTime ate) {}
+
+    @FunctionalInterface
+    private interface ConsultaInicial<T> {
+        List<T> buscar(LocalDateTime desde, LocalDateTime ate, Limit limite);
+    }
+}
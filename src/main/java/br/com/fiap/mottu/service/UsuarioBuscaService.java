@@ -0,0 +1,433 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.BuscaPaginaDTO;
+import br.com.fiap.mottu.dto.UsuarioBuscaDTO;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.repositories.UsuarioRepository;
+import br.com.fiap.mottu.utils.Cursor;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Busca de usuários por prefixo de nome, placa ou cidade, sem ir ao banco.
+//
+// Índice invertido: cada palavra normalizada (minúscula, sem acento) aponta para um int[]
+// ordenado de entradas (id do documento << 2 | campo). Um termo percorre só as palavras que
+// começam com ele no mapa ordenado; numa busca de um termo a pontuação sai das próprias
+// entradas, sem tocar nos documentos. Os arrays são imutáveis: cada escrita monta um novo,
+// então as leituras não usam lock.
+//
+// Carregado na subida e atualizado pelo UsuarioCachingService a cada escrita.
+@Service
+public class UsuarioBuscaService {
+
+    // Documentos distintos examinados por busca; acima disso o resultado vem marcado como truncado
+    static final int LIMITE_CANDIDATOS = 10_000;
+    private static final int LOTE_CARGA = 5_000;
+
+    // Campo de origem, nos 2 bits baixos de cada entrada
+    private static final int CIDADE = 0;
+    private static final int NOME = 1;
+    private static final int PRIMEIRO_NOME = 2;
+    private static final int PLACA = 3;
+    // Pontos por campo quando o termo é prefixo da palavra / é a palavra inteira
+    private static final int[] PESO_PREFIXO = {1, 3, 4, 6};
+    private static final int[] PESO_EXATO = {2, 4, 5, 10};
+    private static final int PESO_MAXIMO = 1 << 16;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private final UsuarioRepository repository;
+    private final EntityManager entityManager;
+
+    private final ConcurrentSkipListMap<String, int[]> termos = new ConcurrentSkipListMap<>();
+    private volatile Documento[] documentos = new Documento[1024];
+    private volatile int ativos;
+
+    // Estado só das escritas (synchronized)
+    private final Map<String, Integer> ids = new HashMap<>();
+    private int proximoId;
+    // Durante a carga inicial, escritas concorrentes têm prioridade sobre as linhas lidas
+    private Set<String> alteradosDuranteCarga;
+
+    public UsuarioBuscaService(UsuarioRepository repository, EntityManager entityManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        synchronized (this) {
+            alteradosDuranteCarga = new HashSet<>();
+        }
+        List<Documento> lote = new ArrayList<>(LOTE_CARGA);
+        try (Stream<Usuario> usuarios = repository.streamAll()) {
+            usuarios.forEach(u -> {
+                lote.add(Documento.de(u));
+                entityManager.detach(u);
+                if (lote.size() == LOTE_CARGA) {
+                    indexarCarga(lote);
+                    lote.clear();
+                }
+            });
+        }
+        indexarCarga(lote);
+        synchronized (this) {
+            alteradosDuranteCarga = null;
+        }
+    }
+
+    public void salvo(Usuario usuario) {
+        salvos(List.of(usuario));
+    }
+
+    public synchronized void salvos(Collection<Usuario> usuarios) {
+        List<Documento> novos = new ArrayList<>(usuarios.size());
+        for (Usuario u : usuarios) {
+            if (alteradosDuranteCarga != null) alteradosDuranteCarga.add(u.getCpf());
+            novos.add(Documento.de(u));
+        }
+        aplicar(novos, List.of());
+    }
+
+    public synchronized void removido(String cpf) {
+        if (alteradosDuranteCarga != null) alteradosDuranteCarga.add(cpf);
+        aplicar(List.of(), List.of(cpf));
+    }
+
+    public int tamanho() {
+        return ativos;
+    }
+
+    private synchronized void indexarCarga(List<Documento> lote) {
+        aplicar(lote.stream().filter(d -> !alteradosDuranteCarga.contains(d.cpf())).toList(), List.of());
+    }
+
+    // Todos os termos precisam casar (E). O termo com menos entradas conduz a busca; os demais
+    // e o estado são conferidos avançando nas próprias listas, sem abrir o documento.
+    // Empates ficam na ordem de indexação
+    public BuscaPaginaDTO<UsuarioBuscaDTO> buscar(String consulta, String estado, Integer pagina, Integer size) {
+        int tamanho = Cursor.tamanho(size);
+        int numeroPagina = pagina == null || pagina < 0 ? 0 : pagina;
+        List<String> termosConsulta = palavras(consulta);
+        if (termosConsulta.isEmpty()) {
+            return new BuscaPaginaDTO<>(List.of(), numeroPagina, tamanho, 0, false);
+        }
+
+        List<Faixa> faixas = new ArrayList<>(termosConsulta.size());
+        for (String termo : termosConsulta) {
+            faixas.add(new Faixa(termo, termos.subMap(termo, true, termo + Character.MAX_VALUE, false)));
+        }
+        Faixa condutor = faixas.stream().min(Comparator.comparingLong(Faixa::entradas)).orElseThrow();
+        faixas.remove(condutor);
+        // Os termos mais seletivos descartam primeiro
+        faixas.sort(Comparator.comparingLong(Faixa::entradas));
+        Faixa uf = null;
+        if (estado != null && !estado.isBlank()) {
+            String chave = chaveEstado(estado.trim());
+            uf = new Faixa(chave, termos.subMap(chave, true, chave, true));
+        }
+
+        // pagina vem da requisição sem limite: as contas em long não estouram, e uma página
+        // além do resultado sai vazia (o ranking nunca guarda mais que os documentos que casam)
+        long inicio = (long) numeroPagina * tamanho;
+        Ranking ranking = new Ranking((int) Math.min(inicio + tamanho, Integer.MAX_VALUE), faixas, uf);
+        boolean truncado = condutor.percorrer(ranking);
+        return new BuscaPaginaDTO<>(ranking.pagina(inicio, documentos), numeroPagina, tamanho,
+                ranking.total, truncado);
+    }
+
+    // Listas das palavras que começam com um termo. As entradas de cada lista estão em ordem
+    // de id, então conferir ids crescentes só anda para frente
+    private static final class Faixa {
+        private final int[][] listas;
+        private final boolean[] exata;
+        private final int[] posicao;
+        private final long entradas;
+
+        Faixa(String termo, NavigableMap<String, int[]> faixa) {
+            List<int[]> l = new ArrayList<>();
+            List<Boolean> e = new ArrayList<>();
+            long total = 0;
+            for (Map.Entry<String, int[]> entrada : faixa.entrySet()) {
+                l.add(entrada.getValue());
+                e.add(entrada.getKey().equals(termo));
+                total += entrada.getValue().length;
+            }
+            listas = l.toArray(int[][]::new);
+            exata = new boolean[listas.length];
+            for (int i = 0; i < exata.length; i++) exata[i] = e.get(i);
+            posicao = new int[listas.length];
+            entradas = total;
+        }
+
+        long entradas() {
+            return entradas;
+        }
+
+        private int peso(int lista, int entrada) {
+            return exata[lista] ? PESO_EXATO[entrada & 3] : PESO_PREFIXO[entrada & 3];
+        }
+
+        // Melhor peso do documento nesta faixa; zero se ele não aparecer
+        int peso(int id) {
+            int alvo = id << 2;
+            int melhor = 0;
+            for (int i = 0; i < listas.length; i++) {
+                int[] lista = listas[i];
+                int p = avancar(lista, posicao[i], alvo);
+                posicao[i] = p;
+                for (; p < lista.length && lista[p] >>> 2 == id; p++) {
+                    melhor = Math.max(melhor, peso(i, lista[p]));
+                }
+            }
+            return melhor;
+        }
+
+        // Intercala as listas por id (heap de índices de lista, pela entrada atual de cada uma)
+        // e entrega cada documento uma vez, com o melhor peso. Devolve true se parou no limite
+        boolean percorrer(Ranking ranking) {
+            int[] heap = new int[listas.length];
+            int abertas = 0;
+            for (int i = 0; i < listas.length; i++) {
+                if (listas[i].length > 0) heap[abertas++] = i;
+            }
+            for (int i = abertas / 2 - 1; i >= 0; i--) descer(heap, abertas, i);
+
+            int examinados = 0;
+            int idAtual = -1;
+            int pesoAtual = 0;
+            while (abertas > 0) {
+                int i = heap[0];
+                int entrada = listas[i][posicao[i]++];
+                if (posicao[i] == listas[i].length) heap[0] = heap[--abertas];
+                descer(heap, abertas, 0);
+
+                int id = entrada >>> 2;
+                if (id == idAtual) {
+                    pesoAtual = Math.max(pesoAtual, peso(i, entrada));
+                    continue;
+                }
+                if (idAtual >= 0) ranking.avaliar(idAtual, pesoAtual);
+                if (++examinados > LIMITE_CANDIDATOS) return true;
+                idAtual = id;
+                pesoAtual = peso(i, entrada);
+            }
+            if (idAtual >= 0) ranking.avaliar(idAtual, pesoAtual);
+            return false;
+        }
+
+        private void descer(int[] heap, int tamanho, int i) {
+            while (true) {
+                int menor = i;
+                int esquerda = 2 * i + 1;
+                int direita = esquerda + 1;
+                if (esquerda < tamanho && atual(heap[esquerda]) < atual(heap[menor])) menor = esquerda;
+                if (direita < tamanho && atual(heap[direita]) < atual(heap[menor])) menor = direita;
+                if (menor == i) return;
+                int t = heap[i];
+                heap[i] = heap[menor];
+                heap[menor] = t;
+                i = menor;
+            }
+        }
+
+        private int atual(int lista) {
+            return listas[lista][posicao[lista]];
+        }
+
+        // Primeira posição >= alvo a partir de "de": alguns passos lineares (listas densas),
+        // depois busca exponencial e binária
+        private static int avancar(int[] lista, int de, int alvo) {
+            for (int limite = Math.min(de + 8, lista.length); de < limite; de++) {
+                if (lista[de] >= alvo) return de;
+            }
+            int fim = de;
+            int passo = 1;
+            while (fim < lista.length && lista[fim] < alvo) {
+                de = fim + 1;
+                fim += passo;
+                passo <<= 1;
+            }
+            int r = Arrays.binarySearch(lista, de, Math.min(fim + 1, lista.length), alvo);
+            return r >= 0 ? r : -r - 1;
+        }
+    }
+
+    // Mantém os melhores n candidatos; a chave (PESO_MAXIMO - pontos, id) é menor para os melhores
+    private static final class Ranking {
+        private final int n;
+        private final List<Faixa> outrosTermos;
+        private final Faixa estado;
+        private final PriorityQueue<Long> piores = new PriorityQueue<>(Comparator.reverseOrder());
+        long total;
+
+        Ranking(int n, List<Faixa> outrosTermos, Faixa estado) {
+            this.n = n;
+            this.outrosTermos = outrosTermos;
+            this.estado = estado;
+        }
+
+        // O estado só filtra, não soma pontos
+        void avaliar(int id, int pontos) {
+            if (estado != null && estado.peso(id) == 0) return;
+            for (Faixa filtro : outrosTermos) {
+                int peso = filtro.peso(id);
+                if (peso == 0) return;
+                pontos += peso;
+            }
+            total++;
+            long chave = ((long) (PESO_MAXIMO - pontos) << 32) | id;
+            if (piores.size() < n) {
+                piores.add(chave);
+            } else if (chave < piores.peek()) {
+                piores.poll();
+                piores.add(chave);
+            }
+        }
+
+        List<UsuarioBuscaDTO> pagina(long inicio, Documento[] docs) {
+            if (inicio >= piores.size()) return List.of();
+            long[] chaves = piores.stream().mapToLong(Long::longValue).sorted().toArray();
+            List<UsuarioBuscaDTO> itens = new ArrayList<>(chaves.length - (int) inicio);
+            for (int i = (int) inicio; i < chaves.length; i++) {
+                int id = (int) chaves[i];
+                Documento d = id < docs.length ? docs[id] : null;
+                if (d != null) itens.add(d.toDTO(PESO_MAXIMO - (int) (chaves[i] >>> 32)));
+            }
+            return itens;
+        }
+    }
+
+    // Chamado com o monitor: remove as entradas antigas dos documentos afetados e junta as novas,
+    // montando um único array novo por palavra tocada
+    private void aplicar(List<Documento> novos, Collection<String> removidos) {
+        Map<String, Documento> porCpf = new LinkedHashMap<>();
+        novos.forEach(d -> porCpf.put(d.cpf(), d));
+
+        Map<String, List<Integer>> saem = new HashMap<>();
+        Map<String, List<Integer>> entram = new HashMap<>();
+        Documento[] docs = documentos;
+
+        for (String cpf : removidos) {
+            Integer id = ids.remove(cpf);
+            if (id == null) continue;
+            docs[id].entradas(id, (termo, entrada) -> saem.computeIfAbsent(termo, t -> new ArrayList<>()).add(entrada));
+            docs[id] = null;
+            ativos--;
+        }
+        for (Documento d : porCpf.values()) {
+            Integer id = ids.get(d.cpf());
+            if (id == null) {
+                id = proximoId++;
+                ids.put(d.cpf(), id);
+                if (id == docs.length) docs = Arrays.copyOf(docs, docs.length * 2);
+                ativos++;
+            } else {
+                docs[id].entradas(id, (termo, entrada) -> saem.computeIfAbsent(termo, t -> new ArrayList<>()).add(entrada));
+            }
+            docs[id] = d;
+            d.entradas(id, (termo, entrada) -> entram.computeIfAbsent(termo, t -> new ArrayList<>()).add(entrada));
+        }
+        documentos = docs;
+
+        Set<String> tocados = new HashSet<>(saem.keySet());
+        tocados.addAll(entram.keySet());
+        for (String termo : tocados) {
+            int[] lista = mesclar(termos.getOrDefault(termo, new int[0]),
+                    ordenados(saem.get(termo)), ordenados(entram.get(termo)));
+            if (lista.length == 0) termos.remove(termo);
+            else termos.put(termo, lista);
+        }
+    }
+
+    // (atual - saem) ∪ entram, ordenado e sem repetição
+    private static int[] mesclar(int[] atual, int[] saem, int[] entram) {
+        int[] r = new int[atual.length + entram.length];
+        int n = 0, a = 0, s = 0, e = 0;
+        while (a < atual.length || e < entram.length) {
+            int v;
+            if (e == entram.length || (a < atual.length && atual[a] <= entram[e])) {
+                v = atual[a++];
+                while (s < saem.length && saem[s] < v) s++;
+                if (s < saem.length && saem[s] == v) continue;
+            } else {
+                v = entram[e++];
+            }
+            if (n == 0 || r[n - 1] != v) r[n++] = v;
+        }
+        return n == r.length ? r : Arrays.copyOf(r, n);
+    }
+
+    private static int[] ordenados(List<Integer> valores) {
+        if (valores == null) return new int[0];
+        return valores.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+    }
+
+    static List<String> palavras(String texto) {
+        if (texto == null) return List.of();
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase();
+        return SEPARADORES.splitAsStream(normalizado).filter(p -> !p.isEmpty()).distinct().toList();
+    }
+
+    private interface Entradas {
+        void aceitar(String termo, int entrada);
+    }
+
+    // Estado entra no índice como filtro; "#" não aparece em palavras normalizadas
+    private static String chaveEstado(String estado) {
+        return "#" + estado.toLowerCase();
+    }
+
+    // Só o necessário para responder; as palavras são recalculadas ao reindexar ou remover.
+    // Cidade e estado se repetem muito e são internados
+    private record Documento(String cpf, String nome, String placa, String cidade, String estado) {
+
+        static Documento de(Usuario u) {
+            String placa = u.getPlaca() == null ? null : u.getPlaca().getPlaca();
+            String cidade = u.getEndereco() == null || u.getEndereco().getCidade() == null
+                    ? null : u.getEndereco().getCidade().intern();
+            String estado = u.getEndereco() == null || u.getEndereco().getEstado() == null
+                    ? null : u.getEndereco().getEstado().intern();
+            return new Documento(u.getCpf(), u.getNome(), placa, cidade, estado);
+        }
+
+        void entradas(int id, Entradas destino) {
+            int base = id << 2;
+            List<String> palavrasNome = palavras(nome);
+            for (int i = 0; i < palavrasNome.size(); i++) {
+                destino.aceitar(palavrasNome.get(i), base | (i == 0 ? PRIMEIRO_NOME : NOME));
+            }
+            List<String> palavrasPlaca = palavras(placa);
+            if (!palavrasPlaca.isEmpty()) destino.aceitar(String.join("", palavrasPlaca), base | PLACA);
+            for (String p : palavras(cidade)) destino.aceitar(p, base | CIDADE);
+            if (estado != null) destino.aceitar(chaveEstado(estado), base | CIDADE);
+        }
+
+        UsuarioBuscaDTO toDTO(int pontuacao) {
+            return new UsuarioBuscaDTO(cpf, nome, placa, cidade, estado, pontuacao);
+        }
+    }
+}
@@ -1,33 +1,150 @@
 package br.com.fiap.mottu.service;
 
+import br.com.fiap.mottu.cache.DiretorioUsuarios;
 import br.com.fiap.mottu.models.Usuario;
 import br.com.fiap.mottu.repositories.UsuarioRepository;
+import br.com.fiap.mottu.utils.Cpf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 
+// Lista e consultas por CPF saem do mesmo DiretorioUsuarios (cópia compacta e imutável),
+// guardado no cache "usuariosFindAll": nenhuma entidade do Hibernate fica retida.
 @Service
 public class UsuarioCachingService {
 
+    // CPFs por chamada em findAllById
+    public static final int MAXIMO_LOTE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(UsuarioCachingService.class);
+
+    // Páginas por CPF na carga: só uma página de entidades em memória por vez
+    static final int LOTE_CARGA = 1_000;
+
     @Autowired
     UsuarioRepository repository;
 
-    @Cacheable(value = "usuariosFindAll")
+    @Autowired
+    CacheManager cacheManager;
+
+    // Índice de busca em memória: toda escrita passa por aqui, então é atualizado junto
+    @Autowired
+    UsuarioBuscaService busca;
+
+    // O diretório fica sob a chave da versão atual; cada escrita avança a versão e
+    // move o diretório corrigido para a nova chave. Uma carga iniciada antes da
+    // escrita grava na chave antiga e nunca é lida.
+    private final AtomicLong versao = new AtomicLong();
+
+    public long versao() {
+        return versao.get();
+    }
+
     public List<Usuario> cacheFindAll() {
-        return repository.findAll();
+        return diretorio().usuarios();
     }
 
-    @Cacheable(value = "usuariosFindById", key = "#cpf")
+    // "123.456.789-01" e "12345678901" caem na mesma chave; CPF inválido não existe
     public Optional<Usuario> findById(String cpf) {
-        return repository.findById(cpf);
+        long numero = Cpf.numeroOu(cpf, Cpf.INVALIDO);
+        return numero == Cpf.INVALIDO ? Optional.empty() : diretorio().buscar(numero);
+    }
+
+    // Multi-get: todos os CPFs respondidos pela mesma versão do diretório, sem ir ao banco
+    // (o diretório tem todos os usuários: CPF ausente nele não existe). Ordem do pedido, sem repetição
+    public List<Usuario> findAllById(Collection<String> cpfs) {
+        if (cpfs.size() > MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Máximo de " + MAXIMO_LOTE + " CPFs por consulta.");
+        }
+        DiretorioUsuarios d = diretorio();
+        return cpfs.stream().mapToLong(c -> Cpf.numeroOu(c, Cpf.INVALIDO))
+                .filter(n -> n != Cpf.INVALIDO).distinct()
+                .mapToObj(d::buscar).flatMap(Optional::stream).toList();
+    }
+
+    // Só se o diretório já estiver em memória: não dispara a carga completa
+    public Optional<Usuario> emCache(String cpf) {
+        long numero = Cpf.numeroOu(cpf, Cpf.INVALIDO);
+        Cache cache = cacheManager.getCache("usuariosFindAll");
+        DiretorioUsuarios d = cache == null ? null : cache.get(versao.get(), DiretorioUsuarios.class);
+        return d == null || numero == Cpf.INVALIDO ? Optional.empty() : d.buscar(numero);
     }
 
-    @CacheEvict(value = {"usuariosFindAll", "usuariosFindById"}, allEntries = true)
+    // Uma única carga por versão, como @Cacheable(sync = true)
+    public DiretorioUsuarios diretorio() {
+        Cache cache = cacheManager.getCache("usuariosFindAll");
+        if (cache == null) return carregar();
+        return cache.get(versao.get(), this::carregar);
+    }
+
+    // Write-through: a nova versão reaproveita o diretório anterior, trocando só o bloco do CPF
+    public Optional<Usuario> salvo(Usuario usuario) {
+        busca.salvo(usuario);
+        corrigirDiretorio(d -> d.com(usuario));
+        return Optional.of(usuario);
+    }
+
+    public void removido(String cpf) {
+        busca.removido(cpf);
+        long numero = Cpf.numeroOu(cpf, Cpf.INVALIDO);
+        corrigirDiretorio(d -> numero == Cpf.INVALIDO ? d : d.sem(numero));
+    }
+
+    // Importação em massa: descarta o diretório, que é recarregado uma vez na próxima leitura
+    public void importados(Collection<Usuario> usuarios) {
+        busca.salvos(usuarios);
+        synchronized (this) {
+            Cache cache = cacheManager.getCache("usuariosFindAll");
+            long anterior = versao.getAndIncrement();
+            if (cache != null) cache.evict(anterior);
+        }
+    }
+
+    @CacheEvict(value = "usuariosFindAll", allEntries = true)
     public void limparCache() {
-        System.out.println("Limpando caches de usuários");
+        versao.incrementAndGet();
+        log.debug("Caches de usuários limpos");
+    }
+
+    private DiretorioUsuarios carregar() {
+        DiretorioUsuarios.Construtor construtor = DiretorioUsuarios.construtor();
+        List<Usuario> pagina = repository.diretorio(Limit.of(LOTE_CARGA));
+        while (!pagina.isEmpty()) {
+            pagina.forEach(construtor::adicionar);
+            if (pagina.size() < LOTE_CARGA) break;
+            String ultimo = pagina.get(pagina.size() - 1).getCpf();
+            pagina = repository.diretorioApos(ultimo, Limit.of(LOTE_CARGA));
+        }
+        if (construtor.ignorados() > 0) {
+            log.warn("{} usuário(s) com CPF fora do padrão de 11 dígitos ficaram fora do diretório", construtor.ignorados());
+        }
+        return construtor.construir();
+    }
+
+    private synchronized void corrigirDiretorio(UnaryOperator<DiretorioUsuarios> correcao) {
+        Cache cache = cacheManager.getCache("usuariosFindAll");
+        long anterior = versao.getAndIncrement();
+        if (cache == null) return;
+
+        DiretorioUsuarios diretorio = cache.get(anterior, DiretorioUsuarios.class);
+        cache.evict(anterior);
+        if (diretorio == null) return;
+        try {
+            cache.put(anterior + 1, correcao.apply(diretorio));
+        } catch (IllegalArgumentException ex) {
+            // CPF fora do padrão: sem correção possível, a próxima leitura recarrega do banco
+            log.warn("Diretório de usuários descartado: {}", ex.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
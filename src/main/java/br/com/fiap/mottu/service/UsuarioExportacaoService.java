@@ -0,0 +1,70 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.repositories.UsuarioRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Exporta usuários em NDJSON (um JSON por linha) lendo e escrevendo linha a linha:
+// nenhuma lista é montada e cada entidade sai do contexto de persistência após ser escrita.
+@Service
+public class UsuarioExportacaoService {
+
+    static final int LINHAS_POR_FLUSH = 500;
+
+    private final UsuarioRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public UsuarioExportacaoService(UsuarioRepository repository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida) throws IOException {
+        try (Stream<Usuario> usuarios = repository.streamAll()) {
+            return escrever(usuarios, saida, this::desanexar);
+        }
+    }
+
+    long escrever(Stream<Usuario> usuarios, OutputStream saida, Consumer<Usuario> aposEscrever) throws IOException {
+        long linhas = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(saida)) {
+            Iterator<Usuario> it = usuarios.iterator();
+            while (it.hasNext()) {
+                Usuario u = it.next();
+                writer.write(u);
+                aposEscrever.accept(u);
+                // Flush periódico: o buffer não cresce e um cliente lento
+                // segura o envio (e a leitura do cursor) pelo próprio TCP
+                if (++linhas % LINHAS_POR_FLUSH == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            if (linhas > 0) saida.write('\n');
+        }
+        return linhas;
+    }
+
+    private void desanexar(Usuario u) {
+        entityManager.detach(u);
+        if (u.getEndereco() != null) entityManager.detach(u.getEndereco());
+        if (u.getPlaca() != null) entityManager.detach(u.getPlaca());
+    }
+}
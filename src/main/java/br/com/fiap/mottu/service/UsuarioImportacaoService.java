@@ -0,0 +1,291 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import br.com.fiap.mottu.dto.ImportacaoErroDTO;
+import br.com.fiap.mottu.dto.ImportacaoResultadoDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.utils.Csv;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Importação em massa de usuários (com endereço e moto) a partir de CSV ou NDJSON.
+// O arquivo é lido em lotes: cada lote é validado em paralelo e gravado numa única
+// transação, com inserts agrupados pelo batch JDBC do Hibernate.
+@Service
+public class UsuarioImportacaoService {
+
+    // Abaixo do limite de 1000 itens por IN (...) do Oracle
+    static final int TAMANHO_LOTE = 500;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UsuarioCachingService cachingService;
+    private final AlteracoesService alteracoesService;
+
+    public UsuarioImportacaoService(EntityManager entityManager,
+                                    TransactionTemplate transactionTemplate,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    UsuarioCachingService cachingService,
+                                    AlteracoesService alteracoesService) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.cachingService = cachingService;
+        this.alteracoesService = alteracoesService;
+    }
+
+    public ImportacaoResultadoDTO importarCsv(InputStream entrada) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String cabecalho = reader.readLine();
+        if (cabecalho == null) return new ImportacaoResultadoDTO(0, 0, List.of());
+
+        List<String> nomes = Csv.campos(cabecalho.replace("\uFEFF", ""));
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) colunas.put(nomes.get(i), i);
+
+        return processar(reader, 2, texto -> deCsv(colunas, Csv.campos(texto)));
+    }
+
+    public ImportacaoResultadoDTO importarNdjson(InputStream entrada) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        return processar(reader, 1, texto -> {
+            try {
+                return objectMapper.readValue(texto, Usuario.class);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("JSON inválido: " + ex.getOriginalMessage());
+            }
+        });
+    }
+
+    private ImportacaoResultadoDTO processar(BufferedReader reader, long primeiraLinha,
+                                             Function<String, Usuario> conversor) throws IOException {
+        List<ImportacaoErroDTO> erros = new ArrayList<>();
+        long linhas = 0;
+        long importados = 0;
+
+        List<Linha> lote = new ArrayList<>(TAMANHO_LOTE);
+        long numero = primeiraLinha - 1;
+        String texto;
+        while ((texto = reader.readLine()) != null) {
+            numero++;
+            if (texto.isBlank()) continue;
+            lote.add(converter(numero, texto, conversor));
+            if (lote.size() == TAMANHO_LOTE) {
+                importados += processarLote(lote, erros);
+                linhas += lote.size();
+                lote = new ArrayList<>(TAMANHO_LOTE);
+            }
+        }
+        if (!lote.isEmpty()) {
+            importados += processarLote(lote, erros);
+            linhas += lote.size();
+        }
+        return new ImportacaoResultadoDTO(linhas, importados, erros);
+    }
+
+    private Linha converter(long numero, String texto, Function<String, Usuario> conversor) {
+        Linha linha = new Linha(numero);
+        try {
+            linha.usuario = conversor.apply(texto);
+        } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+            linha.erro(null, ex.getMessage());
+        }
+        return linha;
+    }
+
+    private long processarLote(List<Linha> lote, List<ImportacaoErroDTO> erros) {
+        // Validator é thread-safe; cada linha só escreve na própria lista de erros
+        lote.parallelStream().filter(Linha::semErros).forEach(this::validar);
+
+        List<Linha> validas = lote.stream().filter(Linha::semErros).toList();
+        List<Usuario> gravados = List.of();
+        if (!validas.isEmpty()) {
+            try {
+                gravados = transactionTemplate.execute(status -> gravar(validas));
+            } catch (RuntimeException ex) {
+                // Uma linha recusada pelo banco desfaz o lote todo: as que já receberam
+                // erro (CPF/placa repetidos) ficam como estão, as demais são regravadas
+                // uma a uma para que só a culpada seja rejeitada
+                gravados = gravarUmaAUma(validas.stream().filter(Linha::semErros).toList());
+            }
+        }
+        if (!gravados.isEmpty()) {
+            cachingService.importados(gravados);
+            gravados.forEach(u -> alteracoesService.criado(AlteracaoDTO.USUARIO, u.getCpf()));
+        }
+
+        lote.forEach(l -> erros.addAll(l.erros));
+        return gravados.size();
+    }
+
+    private void validar(Linha linha) {
+        Usuario u = linha.usuario;
+        adicionar(linha, "", validator.validate(u));
+        if (u.getNome() == null || u.getNome().isBlank()) linha.erro("nome", "Nome é obrigatório.");
+        if (u.getEndereco() == null) linha.erro("endereco", "Endereço é obrigatório.");
+        else adicionar(linha, "endereco.", validator.validate(u.getEndereco()));
+        if (u.getPlaca() == null) linha.erro("placa", "Moto é obrigatória.");
+        else if (u.getPlaca().getPlaca() == null) linha.erro("placa.placa", "Placa é obrigatória.");
+        else adicionar(linha, "placa.", validator.validate(u.getPlaca()));
+    }
+
+    private void adicionar(Linha linha, String prefixo, Set<? extends ConstraintViolation<?>> violacoes) {
+        for (ConstraintViolation<?> v : violacoes) {
+            linha.erro(prefixo + v.getPropertyPath(), v.getMessage());
+        }
+    }
+
+    private List<Usuario> gravarUmaAUma(List<Linha> linhas) {
+        List<Usuario> gravados = new ArrayList<>();
+        for (Linha linha : linhas) {
+            try {
+                gravados.addAll(transactionTemplate.execute(status -> gravar(List.of(linha))));
+            } catch (RuntimeException ex) {
+                linha.erro(null, "Falha ao gravar: " + ex.getMessage());
+            }
+        }
+        return gravados;
+    }
+
+    // Uma consulta por tabela para descobrir o que já existe; o resto vira INSERT em batch
+    private List<Usuario> gravar(List<Linha> validas) {
+        Set<String> cpfs = validas.stream().map(l -> l.usuario.getCpf()).collect(Collectors.toSet());
+        Set<String> placas = validas.stream().map(l -> l.usuario.getPlaca().getPlaca()).collect(Collectors.toSet());
+        Set<Long> ceps = validas.stream().map(l -> l.usuario.getEndereco().getCep()).collect(Collectors.toSet());
+
+        Set<String> cpfsExistentes = new HashSet<>(entityManager
+                .createQuery("select u.cpf from usuario u where u.cpf in :cpfs", String.class)
+                .setParameter("cpfs", cpfs).getResultList());
+        Set<String> placasExistentes = new HashSet<>(entityManager
+                .createQuery("select m.placa from moto m where m.placa in :placas", String.class)
+                .setParameter("placas", placas).getResultList());
+        Map<Long, Endereco> enderecos = entityManager
+                .createQuery("select e from endereco e where e.cep in :ceps", Endereco.class)
+                .setParameter("ceps", ceps).getResultStream()
+                .collect(Collectors.toMap(Endereco::getCep, Function.identity()));
+
+        Set<String> cpfsDoLote = new HashSet<>();
+        Set<String> placasDoLote = new HashSet<>();
+        List<Usuario> gravados = new ArrayList<>();
+
+        for (Linha linha : validas) {
+            Usuario u = linha.usuario;
+            Moto moto = u.getPlaca();
+            if (cpfsExistentes.contains(u.getCpf()) || !cpfsDoLote.add(u.getCpf())) {
+                linha.erro("cpf", "CPF já cadastrado.");
+                continue;
+            }
+            if (placasExistentes.contains(moto.getPlaca()) || !placasDoLote.add(moto.getPlaca())) {
+                linha.erro("placa.placa", "Placa já cadastrada.");
+                continue;
+            }
+
+            // Endereço é compartilhado por CEP: reaproveita o existente sem alterá-lo
+            Endereco endereco = enderecos.get(u.getEndereco().getCep());
+            if (endereco == null) {
+                endereco = u.getEndereco();
+                entityManager.persist(endereco);
+                enderecos.put(endereco.getCep(), endereco);
+            }
+            u.setEndereco(endereco);
+
+            entityManager.persist(moto);
+            entityManager.persist(u);
+            gravados.add(u);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return gravados;
+    }
+
+    private Usuario deCsv(Map<String, Integer> colunas, List<String> campos) {
+        Endereco e = new Endereco();
+        e.setCep(numero(colunas, campos, "cep"));
+        e.setPais(texto(colunas, campos, "pais"));
+        e.setEstado(texto(colunas, campos, "estado"));
+        e.setCidade(texto(colunas, campos, "cidade"));
+        e.setBairro(texto(colunas, campos, "bairro"));
+        e.setNumero(numero(colunas, campos, "numero"));
+        e.setLogradouro(texto(colunas, campos, "logradouro"));
+        e.setComplemento(texto(colunas, campos, "complemento"));
+
+        Usuario u = new Usuario();
+        u.setCpf(texto(colunas, campos, "cpf"));
+        u.setNome(texto(colunas, campos, "nome"));
+        String nascimento = texto(colunas, campos, "dataNascimento");
+        if (nascimento != null) u.setDataNascimento(java.sql.Date.valueOf(LocalDate.parse(nascimento)));
+        u.setEndereco(e);
+
+        Moto m = new Moto();
+        m.setPlaca(texto(colunas, campos, "placa"));
+        String cpfMoto = texto(colunas, campos, "cpfMoto");
+        m.setCpf(cpfMoto == null ? u.getCpf() : cpfMoto);
+        m.setNiv(texto(colunas, campos, "niv"));
+        m.setMotor(texto(colunas, campos, "motor"));
+        m.setRenavam(numero(colunas, campos, "renavam"));
+        m.setFipe(numero(colunas, campos, "fipe"));
+        u.setPlaca(m);
+        return u;
+    }
+
+    private static String texto(Map<String, Integer> colunas, List<String> campos, String nome) {
+        Integer i = colunas.get(nome);
+        if (i == null || i >= campos.size() || campos.get(i).isEmpty()) return null;
+        return campos.get(i);
+    }
+
+    private static Long numero(Map<String, Integer> colunas, List<String> campos, String nome) {
+        String valor = texto(colunas, campos, nome);
+        if (valor == null) return null;
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Campo " + nome + " deve ser numérico: " + valor);
+        }
+    }
+
+    private static final class Linha {
+        final long numero;
+        Usuario usuario;
+        final List<ImportacaoErroDTO> erros = new ArrayList<>(0);
+
+        Linha(long numero) {
+            this.numero = numero;
+        }
+
+        void erro(String campo, String mensagem) {
+            erros.add(new ImportacaoErroDTO(numero, campo, mensagem));
+        }
+
+        boolean semErros() {
+            return erros.isEmpty();
+        }
+    }
+}
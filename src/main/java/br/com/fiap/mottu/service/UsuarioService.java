@@ -0,0 +1,223 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import br.com.fiap.mottu.dto.CursorPaginaDTO;
+import br.com.fiap.mottu.dto.UsuarioParcialDTO;
+import br.com.fiap.mottu.dto.UsuarioResumoDTO;
+import br.com.fiap.mottu.mapper.UsuarioMapper;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.repositories.UsuarioRepository;
+import br.com.fiap.mottu.utils.Cursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+@Service
+public class UsuarioService {
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UsuarioCachingService cachingService;
+
+    @Autowired
+    private UsuarioMapper mapper;
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    private static final String TIPO_CURSOR = "usuario";
+    private static final char SEPARADOR_CURSOR = '\u0000';
+
+    // Colunas aceitas para ordenação na tela; o CPF desempata e fecha a chave do cursor
+    public enum Ordem {
+        CPF("u.cpf"), NOME("u.nome"), NASCIMENTO("u.dataNascimento");
+
+        final String caminho;
+
+        Ordem(String caminho) {
+            this.caminho = caminho;
+        }
+
+        public static Ordem de(String valor) {
+            if (valor == null || valor.isBlank()) return CPF;
+            try {
+                return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Ordenação inválida: " + valor);
+            }
+        }
+    }
+
+    // Filtros por prefixo, que usam os índices da V10 (nome sem diferenciar maiúsculas)
+    public enum Campo {
+        NOME("upper(u.nome)"), CPF("u.cpf"), PLACA("u.placa.placa");
+
+        final String caminho;
+
+        Campo(String caminho) {
+            this.caminho = caminho;
+        }
+
+        public static Campo de(String valor) {
+            if (valor == null || valor.isBlank()) return NOME;
+            try {
+                return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Campo de filtro inválido: " + valor);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPaginaDTO<Usuario> paginarPorCursor(String cursor, Integer size, boolean incluirTotal) {
+        int tamanho = Cursor.tamanho(size);
+        // Busca um a mais só para saber se existe próxima página
+        Limit limite = Limit.of(tamanho + 1);
+
+        List<Usuario> usuarios = cursor == null || cursor.isBlank()
+                ? repository.findByOrderByCpfAsc(limite)
+                : repository.findByCpfGreaterThanOrderByCpfAsc(Cursor.decodificar(TIPO_CURSOR, cursor), limite);
+
+        String proximo = null;
+        if (usuarios.size() > tamanho) {
+            usuarios = usuarios.subList(0, tamanho);
+            proximo = Cursor.codificar(TIPO_CURSOR, usuarios.get(tamanho - 1).getCpf());
+        }
+
+        return new CursorPaginaDTO<>(usuarios, proximo, incluirTotal ? repository.count() : null);
+    }
+
+    // Página por chave para a tela: ordena por qualquer coluna de Ordem (com o CPF como desempate),
+    // filtra por prefixo e devolve só a projeção da lista. O cursor carrega a ordenação usada,
+    // então não vale para outra ordenação
+    @Transactional(readOnly = true)
+    public CursorPaginaDTO<UsuarioResumoDTO> paginarResumo(String cursor, Integer size, String ordem, boolean decrescente,
+                                                           String campo, String filtro, boolean incluirTotal) {
+        int tamanho = Cursor.tamanho(size);
+        Ordem o = Ordem.de(ordem);
+        Campo c = Campo.de(campo);
+        String prefixo = filtro == null || filtro.isBlank() ? null : filtro.trim();
+        String tipo = TIPO_CURSOR + "-" + o.name().toLowerCase(Locale.ROOT) + (decrescente ? "-desc" : "");
+
+        List<String> condicoes = new ArrayList<>();
+        if (prefixo != null) condicoes.add(c.caminho + " like :prefixo escape '\\'");
+
+        Object ultimoValor = null;
+        String ultimoCpf = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String chave = Cursor.decodificar(tipo, cursor);
+            if (o == Ordem.CPF) {
+                ultimoCpf = chave;
+            } else {
+                int i = chave.indexOf(SEPARADOR_CURSOR);
+                if (i < 0) throw new IllegalArgumentException("Cursor inválido.");
+                ultimoValor = o == Ordem.NASCIMENTO ? java.sql.Date.valueOf(LocalDate.parse(chave.substring(0, i))) : chave.substring(0, i);
+                ultimoCpf = chave.substring(i + 1);
+            }
+            String op = decrescente ? "<" : ">";
+            condicoes.add(o == Ordem.CPF
+                    ? "u.cpf " + op + " :ultimoCpf"
+                    : "(" + o.caminho + " " + op + " :ultimoValor or (" + o.caminho + " = :ultimoValor and u.cpf " + op + " :ultimoCpf))");
+        }
+
+        String where = condicoes.isEmpty() ? "" : " where " + String.join(" and ", condicoes);
+        String direcao = decrescente ? " desc" : " asc";
+        String ordenacao = o == Ordem.CPF ? "u.cpf" + direcao : o.caminho + direcao + ", u.cpf" + direcao;
+
+        // CEP e placa são as próprias FKs de T_MT_USUARIO: nenhuma junção é necessária
+        TypedQuery<UsuarioResumoDTO> consulta = entityManager.createQuery(
+                "select new br.com.fiap.mottu.dto.UsuarioResumoDTO(u.cpf, u.nome, u.dataNascimento, u.endereco.cep, u.placa.placa) "
+                        + "from usuario u" + where + " order by " + ordenacao, UsuarioResumoDTO.class);
+        if (prefixo != null) consulta.setParameter("prefixo", padraoPrefixo(c, prefixo));
+        if (ultimoCpf != null) consulta.setParameter("ultimoCpf", ultimoCpf);
+        if (ultimoValor != null) consulta.setParameter("ultimoValor", ultimoValor);
+        // Busca um a mais só para saber se existe próxima página
+        List<UsuarioResumoDTO> itens = consulta.setMaxResults(tamanho + 1).getResultList();
+
+        String proximo = null;
+        if (itens.size() > tamanho) {
+            itens = itens.subList(0, tamanho);
+            proximo = Cursor.codificar(tipo, chaveDoCursor(o, itens.get(tamanho - 1)));
+        }
+
+        Long total = null;
+        if (incluirTotal) {
+            var contagem = entityManager.createQuery("select count(u) from usuario u"
+                    + (prefixo == null ? "" : " where " + c.caminho + " like :prefixo escape '\\'"), Long.class);
+            if (prefixo != null) contagem.setParameter("prefixo", padraoPrefixo(c, prefixo));
+            total = contagem.getSingleResult();
+        }
+        return new CursorPaginaDTO<>(itens, proximo, total);
+    }
+
+    // PATCH: um único UPDATE condicionado à versão, sem ler a linha antes. Vazio quando o CPF
+    // não existe; ObjectOptimisticLockingFailureException quando a versão já não é a atual.
+    // O usuário devolvido (e gravado no cache) é a cópia do diretório com a alteração
+    // aplicada, se ela era exatamente a versão alterada; senão, relido da primária
+    public Optional<Usuario> alterar(String cpf, UsuarioParcialDTO dto) {
+        LocalDateTime agora = LocalDateTime.now();
+        if (repository.alterar(cpf, dto.versao(), dto.nome(), dto.dataNascimento(), agora) == 0) {
+            if (!repository.existsById(cpf)) return Optional.empty();
+            throw new ObjectOptimisticLockingFailureException(Usuario.class, cpf);
+        }
+        Optional<Usuario> salvo = cachingService.emCache(cpf)
+                .filter(u -> u.getVersao() == dto.versao())
+                .map(u -> {
+                    mapper.alterar(dto, u);
+                    u.setAtualizadoEm(agora);
+                    u.setVersao(dto.versao() + 1);
+                    return u;
+                })
+                .or(() -> repository.findById(cpf));
+        salvo.ifPresent(cachingService::salvo);
+        return salvo;
+    }
+
+    // DELETE e marca de remoção na mesma transação: a sincronização incremental nunca vê
+    // o usuário sumir sem a remoção correspondente. false quando o CPF não existe
+    @Transactional
+    public boolean remover(String cpf) {
+        if (repository.removerPorCpf(cpf) == 0) return false;
+        sincronizacaoService.removido(AlteracaoDTO.USUARIO, cpf);
+        return true;
+    }
+
+    private static String padraoPrefixo(Campo campo, String prefixo) {
+        // CPF gravado só com dígitos: "123.456" procura por "123456"
+        String valor = switch (campo) {
+            case NOME -> prefixo.toUpperCase(Locale.ROOT);
+            case CPF -> prefixo.replace(".", "").replace("-", "");
+            default -> prefixo;
+        };
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static String chaveDoCursor(Ordem ordem, UsuarioResumoDTO u) {
+        return switch (ordem) {
+            case CPF -> u.cpf();
+            case NOME -> u.nome() + SEPARADOR_CURSOR + u.cpf();
+            case NASCIMENTO -> paraLocalDate(u.dataNascimento()).toString() + SEPARADOR_CURSOR + u.cpf();
+        };
+    }
+
+    private static LocalDate paraLocalDate(Date data) {
+        return data instanceof java.sql.Date sql ? sql.toLocalDate() : new java.sql.Date(data.getTime()).toLocalDate();
+    }
+}
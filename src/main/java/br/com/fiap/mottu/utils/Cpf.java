@@ -0,0 +1,53 @@
+package br.com.fiap.mottu.utils;
+
+// CPF canônico: 11 dígitos sem pontuação ("123.456.789-01" -> "12345678901"), e como número
+// para chaves em memória. Pontos, hífen e espaços são ignorados; qualquer outro caractere, ou
+// uma quantidade de dígitos diferente de 11, torna o CPF inválido. Dígitos verificadores
+// não são conferidos (a validação dos cadastros continua nos @Pattern das entidades).
+public final class Cpf {
+
+    public static final long INVALIDO = -1;
+
+    private static final int DIGITOS = 11;
+
+    private Cpf() {}
+
+    public static long numero(String cpf) {
+        long numero = numeroOu(cpf, INVALIDO);
+        if (numero == INVALIDO) throw new IllegalArgumentException("CPF inválido: " + cpf);
+        return numero;
+    }
+
+    public static long numeroOu(String cpf, long seInvalido) {
+        if (cpf == null) return seInvalido;
+        long numero = 0;
+        int digitos = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > DIGITOS) return seInvalido;
+                numero = numero * 10 + (c - '0');
+            } else if (c != '.' && c != '-' && c != ' ') {
+                return seInvalido;
+            }
+        }
+        return digitos == DIGITOS ? numero : seInvalido;
+    }
+
+    public static String texto(long numero) {
+        char[] c = new char[DIGITOS];
+        for (int i = DIGITOS - 1; i >= 0; i--) {
+            c[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+        return new String(c);
+    }
+
+    // Forma canônica; um valor inválido volta como veio, para a validação do chamador recusá-lo
+    public static String normalizar(String cpf) {
+        long numero = numeroOu(cpf, INVALIDO);
+        if (numero == INVALIDO) return cpf;
+        String texto = texto(numero);
+        return texto.equals(cpf) ? cpf : texto;
+    }
+}
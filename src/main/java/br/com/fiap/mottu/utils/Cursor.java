@@ -0,0 +1,36 @@
+package br.com.fiap.mottu.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Token opaco de continuação para paginação por chave: "<tipo>:<ultima chave>" em Base64 URL
+public final class Cursor {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private Cursor() {}
+
+    public static String codificar(String tipo, String ultimaChave) {
+        String bruto = tipo + ":" + ultimaChave;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodificar(String tipo, String token) {
+        String bruto;
+        try {
+            bruto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+        if (!bruto.startsWith(tipo + ":") || bruto.length() == tipo.length() + 1) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+        return bruto.substring(tipo.length() + 1);
+    }
+
+    public static int tamanho(Integer solicitado) {
+        if (solicitado == null || solicitado < 1) return TAMANHO_PADRAO;
+        return Math.min(solicitado, TAMANHO_MAXIMO);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.fiap.mottu.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// ETags fortes calculados sem serializar o corpo
+public final class Etags {
+
+    // Os contadores de versão recomeçam do zero a cada subida da aplicação;
+    // a geração impede que um ETag de antes do restart volte a casar
+    private static final String GERACAO = Long.toString(System.currentTimeMillis(), 36);
+
+    private Etags() {}
+
+    // Coleção: versão do caching service (avança a cada escrita) + identidade da
+    // lista em cache (muda quando a lista é recarregada do banco)
+    public static String colecao(String tipo, long versao, Object lista) {
+        return "\"" + tipo + "-" + GERACAO + "-" + versao + "-"
+                + Integer.toHexString(System.identityHashCode(lista)) + "\"";
+    }
+
+    // Registro: DT_ATUALIZACAO tem resolução de segundos (DATE do Oracle), então
+    // o hash do conteúdo distingue duas alterações no mesmo segundo
+    public static String registro(Object id, LocalDateTime atualizadoEm, Object conteudo) {
+        return "\"" + id + "-" + ultimaModificacao(atualizadoEm) + "-"
+                + Integer.toHexString(conteudo.hashCode()) + "\"";
+    }
+
+    // Epoch em ms para Last-Modified; -1 quando a linha não tem data (ignorado pelo Spring)
+    public static long ultimaModificacao(LocalDateTime atualizadoEm) {
+        if (atualizadoEm == null) return -1;
+        return atualizadoEm.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,4 @@
+-- V10: Índices da listagem paginada da tela de usuários (ordenação por chave com CPF como desempate)
+CREATE INDEX IDX_USUARIO_NOME_CPF  ON T_MT_USUARIO (ID_NOME, CD_CPF);
+CREATE INDEX IDX_USUARIO_NOME_UPPER ON T_MT_USUARIO (UPPER(ID_NOME), CD_CPF);
+CREATE INDEX IDX_USUARIO_NASC_CPF  ON T_MT_USUARIO (DT_NASCIMENTO, CD_CPF);
@@ -0,0 +1,13 @@
+-- V11: Sincronização incremental (/changes): índices por DT_ATUALIZACAO (com a chave
+-- como desempate da paginação) e marcas de remoção (tombstones)
+CREATE INDEX IDX_USUARIO_ATUALIZACAO     ON T_MT_USUARIO (DT_ATUALIZACAO, CD_CPF);
+CREATE INDEX IDX_FUNCIONARIO_ATUALIZACAO ON T_MT_FUNCIONARIO (DT_ATUALIZACAO, ID_FUNCIONARIO);
+
+CREATE TABLE T_MT_REMOCAO (
+    NM_ENTIDADE VARCHAR2(20) NOT NULL,
+    CD_ID       VARCHAR2(20) NOT NULL,
+    DT_REMOCAO  DATE NOT NULL,
+    CONSTRAINT PK_REMOCAO PRIMARY KEY (NM_ENTIDADE, CD_ID)
+);
+
+CREATE INDEX IDX_REMOCAO_DATA ON T_MT_REMOCAO (NM_ENTIDADE, DT_REMOCAO);
@@ -0,0 +1,74 @@
+-- V12: CPF canônico (11 dígitos, sem pontuação) em usuário, funcionário, moto e remoções
+-- Motivo: a API aceitava "123.456.789-01" e "12345678901", e V6–V8 converteram NUMBER em texto
+--         sem LPAD (zeros à esquerda perdidos). O mesmo CPF podia estar gravado de mais de um
+--         jeito e a busca pelo índice (igualdade) não o encontrava.
+-- Estratégia:
+--   1. Aborta se dois registros viram o mesmo CPF (precisam ser unificados à mão antes)
+--   2. Remove pontuação e completa com zeros à esquerda o que tem de 1 a 11 dígitos
+--   3. CHECK de formato (ENABLE NOVALIDATE: valores fora do padrão que sobrarem não
+--      impedem a migração, mas nenhuma escrita nova passa sem 11 dígitos)
+
+DECLARE
+  v_conflitos INTEGER;
+BEGIN
+  SELECT COUNT(*) INTO v_conflitos FROM (
+    SELECT LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0')
+      FROM T_MT_USUARIO
+     WHERE LENGTH(REGEXP_REPLACE(CD_CPF, '[^0-9]', '')) BETWEEN 1 AND 11
+     GROUP BY LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0')
+    HAVING COUNT(*) > 1);
+  IF v_conflitos > 0 THEN
+    RAISE_APPLICATION_ERROR(-20012, v_conflitos || ' CPF(s) de usuário gravados em mais de um formato; unifique-os antes de migrar');
+  END IF;
+
+  SELECT COUNT(*) INTO v_conflitos FROM (
+    SELECT LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0')
+      FROM T_MT_FUNCIONARIO
+     WHERE LENGTH(REGEXP_REPLACE(CD_CPF, '[^0-9]', '')) BETWEEN 1 AND 11
+     GROUP BY LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0')
+    HAVING COUNT(*) > 1);
+  IF v_conflitos > 0 THEN
+    RAISE_APPLICATION_ERROR(-20012, v_conflitos || ' CPF(s) de funcionário gravados em mais de um formato; unifique-os antes de migrar');
+  END IF;
+
+  UPDATE T_MT_USUARIO
+     SET CD_CPF = LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0')
+   WHERE LENGTH(REGEXP_REPLACE(CD_CPF, '[^0-9]', '')) BETWEEN 1 AND 11
+     AND CD_CPF <> LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0');
+
+  UPDATE T_MT_FUNCIONARIO
+     SET CD_CPF = LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0')
+   WHERE LENGTH(REGEXP_REPLACE(CD_CPF, '[^0-9]', '')) BETWEEN 1 AND 11
+     AND CD_CPF <> LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0');
+
+  UPDATE T_MT_MOTO
+     SET CD_CPF = LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0')
+   WHERE LENGTH(REGEXP_REPLACE(CD_CPF, '[^0-9]', '')) BETWEEN 1 AND 11
+     AND CD_CPF <> LPAD(REGEXP_REPLACE(CD_CPF, '[^0-9]', ''), 11, '0');
+
+  -- Remoções de usuário guardam o CPF: a marca mais recente vence quando duas se juntam
+  DELETE FROM T_MT_REMOCAO r
+   WHERE r.NM_ENTIDADE = 'usuario'
+     AND LENGTH(REGEXP_REPLACE(r.CD_ID, '[^0-9]', '')) BETWEEN 1 AND 11
+     AND r.CD_ID <> LPAD(REGEXP_REPLACE(r.CD_ID, '[^0-9]', ''), 11, '0')
+     AND EXISTS (SELECT 1 FROM T_MT_REMOCAO o
+                  WHERE o.NM_ENTIDADE = 'usuario'
+                    AND o.CD_ID = LPAD(REGEXP_REPLACE(r.CD_ID, '[^0-9]', ''), 11, '0')
+                    AND o.DT_REMOCAO >= r.DT_REMOCAO);
+  DELETE FROM T_MT_REMOCAO o
+   WHERE o.NM_ENTIDADE = 'usuario'
+     AND EXISTS (SELECT 1 FROM T_MT_REMOCAO r
+                  WHERE r.NM_ENTIDADE = 'usuario'
+                    AND r.CD_ID <> o.CD_ID
+                    AND LENGTH(REGEXP_REPLACE(r.CD_ID, '[^0-9]', '')) BETWEEN 1 AND 11
+                    AND LPAD(REGEXP_REPLACE(r.CD_ID, '[^0-9]', ''), 11, '0') = o.CD_ID);
+  UPDATE T_MT_REMOCAO
+     SET CD_ID = LPAD(REGEXP_REPLACE(CD_ID, '[^0-9]', ''), 11, '0')
+   WHERE NM_ENTIDADE = 'usuario'
+     AND LENGTH(REGEXP_REPLACE(CD_ID, '[^0-9]', '')) BETWEEN 1 AND 11
+     AND CD_ID <> LPAD(REGEXP_REPLACE(CD_ID, '[^0-9]', ''), 11, '0');
+
+  EXECUTE IMMEDIATE q'[ALTER TABLE T_MT_USUARIO ADD CONSTRAINT CK_USUARIO_CPF_FMT CHECK (REGEXP_LIKE(CD_CPF, '^[0-9]{11}$')) ENABLE NOVALIDATE]';
+  EXECUTE IMMEDIATE q'[ALTER TABLE T_MT_FUNCIONARIO ADD CONSTRAINT CK_FUNCIONARIO_CPF_FMT CHECK (REGEXP_LIKE(CD_CPF, '^[0-9]{11}$')) ENABLE NOVALIDATE]';
+END;
+/
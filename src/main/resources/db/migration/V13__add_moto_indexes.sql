@@ -0,0 +1,5 @@
+-- V13: Busca de motos por chassi (NIV) e RENAVAM (/motos/niv/{niv}, /motos/renavam/{renavam})
+-- Sem UNIQUE: dados anteriores podem repetir os valores. A placa completa a chave para que
+-- "a menor placa com esse NIV" saia do índice, sem ordenar
+CREATE INDEX IDX_MOTO_NIV_PLACA     ON T_MT_MOTO (CD_NIV, CD_PLACA);
+CREATE INDEX IDX_MOTO_RENAVAM_PLACA ON T_MT_MOTO (CD_RENAVAM, CD_PLACA);
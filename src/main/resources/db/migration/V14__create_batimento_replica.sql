@@ -0,0 +1,9 @@
+-- V14: Batimento da réplica de leitura (MonitorReplica, ativo com mottu.datasource.replica.url)
+-- A aplicação grava o instante atual aqui na primária; o atraso é a diferença para o valor
+-- que já chegou à réplica
+CREATE TABLE T_MT_BATIMENTO (
+    ID_BATIMENTO NUMBER(1) PRIMARY KEY,
+    DT_BATIMENTO TIMESTAMP NOT NULL
+);
+
+INSERT INTO T_MT_BATIMENTO (ID_BATIMENTO, DT_BATIMENTO) VALUES (1, SYSTIMESTAMP);
@@ -0,0 +1,10 @@
+-- V15: Escritas num único comando. NR_VERSAO é a versão otimista (@Version) que o PATCH
+-- confere no próprio UPDATE (... WHERE ID = ? AND NR_VERSAO = ?), sem ler a linha antes.
+-- Os papéis do funcionário saem junto com ele (ON DELETE CASCADE), então a remoção é um
+-- único DELETE em T_MT_FUNCIONARIO
+ALTER TABLE T_MT_USUARIO     ADD NR_VERSAO NUMBER(19) DEFAULT 0 NOT NULL;
+ALTER TABLE T_MT_FUNCIONARIO ADD NR_VERSAO NUMBER(19) DEFAULT 0 NOT NULL;
+
+ALTER TABLE T_MT_FUNCIONARIO_ROLE DROP CONSTRAINT FK_FR_FUNC;
+ALTER TABLE T_MT_FUNCIONARIO_ROLE ADD CONSTRAINT FK_FR_FUNC
+    FOREIGN KEY (ID_FUNCIONARIO) REFERENCES T_MT_FUNCIONARIO (ID_FUNCIONARIO) ON DELETE CASCADE;
@@ -16,6 +16,120 @@
     }, 3000);
   }
 
+  // Listagem paginada no servidor: só a página atual fica no DOM. O cursor de cada página
+  // visitada é guardado em "cursores" para voltar sem recarregar do início.
+  const TAMANHO = 20;
+  const estado = {
+    ordem: "cpf",
+    direcao: "asc",
+    campo: "nome",
+    filtro: "",
+    cursores: [null],
+    pagina: 0,
+    proximo: null,
+    total: null
+  };
+  let requisicao = null;
+
+  function celula(label, texto) {
+    const td = document.createElement("td");
+    td.dataset.label = label;
+    td.textContent = texto == null ? "" : texto;
+    return td;
+  }
+
+  // java.sql.Date chega como "yyyy-MM-dd"; java.util.Date, como ISO completo
+  function data(valor) {
+    if (valor == null) return "";
+    return typeof valor === "number" ? new Date(valor).toISOString().slice(0, 10) : String(valor).slice(0, 10);
+  }
+
+  function linha(u) {
+    const tr = document.createElement("tr");
+    tr.dataset.cpf = u.cpf;
+    tr.append(celula("CPF", u.cpf), celula("Nome", u.nome), celula("Data Nasc.", data(u.dataNascimento)),
+      celula("CEP", u.cep));
+
+    const placa = document.createElement("td");
+    placa.dataset.label = "Placa";
+    const badge = document.createElement("span");
+    badge.className = u.placa ? "badge badge--plate" : "badge badge--empty";
+    badge.textContent = u.placa || "Sem placa";
+    placa.append(badge);
+
+    const acoes = document.createElement("td");
+    acoes.className = "row-actions";
+    const editar = document.createElement("a");
+    editar.href = `/usuarios/ui/${encodeURIComponent(u.cpf)}/editar`;
+    editar.className = "btn btn--ghost btn--xs";
+    editar.textContent = "Editar";
+    const excluir = document.createElement("button");
+    excluir.type = "button";
+    excluir.className = "btn btn--danger btn--xs js-delete-user";
+    excluir.dataset.cpf = u.cpf;
+    excluir.textContent = "Excluir";
+    acoes.append(editar, excluir);
+
+    tr.append(placa, acoes);
+    return tr;
+  }
+
+  function renderizar(card, pagina) {
+    const corpo = $("tbody", card);
+    corpo.replaceChildren(...pagina.itens.map(linha));
+    $(".empty-state", card).hidden = pagina.itens.length > 0;
+    $(".table-wrapper", card).hidden = pagina.itens.length === 0;
+
+    if (pagina.total != null) estado.total = pagina.total;
+    estado.proximo = pagina.proximoCursor;
+    $(".js-anterior", card).disabled = estado.pagina === 0;
+    $(".js-proxima", card).disabled = !estado.proximo;
+
+    const inicio = estado.pagina * TAMANHO + (pagina.itens.length ? 1 : 0);
+    const fim = estado.pagina * TAMANHO + pagina.itens.length;
+    $(".pager__info", card).textContent = estado.total == null
+      ? `${inicio}–${fim}`
+      : `${inicio}–${fim} de ${estado.total}`;
+  }
+
+  async function carregar(card) {
+    if (requisicao) requisicao.abort();
+    requisicao = new AbortController();
+
+    const params = new URLSearchParams({
+      size: TAMANHO,
+      ordem: estado.ordem,
+      direcao: estado.direcao,
+      campo: estado.campo
+    });
+    if (estado.filtro) params.set("filtro", estado.filtro);
+    const cursor = estado.cursores[estado.pagina];
+    if (cursor) params.set("cursor", cursor);
+    // O total só é contado na primeira página de cada consulta
+    if (estado.pagina === 0) params.set("total", "true");
+
+    card.classList.add("is-loading");
+    try {
+      const resp = await fetch(card.dataset.url + "?" + params, { signal: requisicao.signal });
+      if (!resp.ok) {
+        showToast("Erro ao carregar usuários: " + await resp.text(), "error");
+        return;
+      }
+      renderizar(card, await resp.json());
+    } catch (e) {
+      if (e.name !== "AbortError") showToast("Falha de rede ao carregar usuários.", "error");
+    } finally {
+      card.classList.remove("is-loading");
+    }
+  }
+
+  function reiniciar(card) {
+    estado.cursores = [null];
+    estado.pagina = 0;
+    estado.total = null;
+    carregar(card);
+  }
+
   async function deleteUser(cpf, btn) {
     if (!confirm("Tem certeza que deseja excluir o usuário " + cpf + "?")) return;
 
@@ -23,14 +137,15 @@
     btn.textContent = "Excluindo...";
 
     try {
-      const resp = await fetch(`/usuarios/${cpf}`, { method: "DELETE" });
+      const resp = await fetch(`/usuarios/${encodeURIComponent(cpf)}`, { method: "DELETE" });
 
       if (resp.ok) {
-        const row = document.querySelector(`tr[data-cpf="${cpf}"]`);
+        const row = btn.closest("tr");
         if (row) {
             row.classList.add("fade-out");
             setTimeout(() => row.remove(), 300);
         }
+        if (estado.total != null) estado.total--;
         showToast("Usuário deletado com sucesso!");
       } else if (resp.status === 404) {
         showToast("Usuário já não existe (404).", "warn");
@@ -47,12 +162,54 @@
   }
 
   function wire() {
-    $all(".js-delete-user").forEach(btn => {
-      btn.addEventListener("click", () => {
-        const cpf = btn.getAttribute("data-cpf");
-        deleteUser(cpf, btn);
+    const card = $("#usuarios");
+    if (!card) return;
+
+    // Delegação: as linhas são recriadas a cada página
+    card.addEventListener("click", ev => {
+      const btn = ev.target.closest(".js-delete-user");
+      if (btn) deleteUser(btn.dataset.cpf, btn);
+    });
+
+    $all("th.sortable", card).forEach(th => {
+      th.addEventListener("click", () => {
+        estado.direcao = estado.ordem === th.dataset.ordem && estado.direcao === "asc" ? "desc" : "asc";
+        estado.ordem = th.dataset.ordem;
+        $all("th.sortable", card).forEach(outro => outro.removeAttribute("aria-sort"));
+        th.setAttribute("aria-sort", estado.direcao === "asc" ? "ascending" : "descending");
+        reiniciar(card);
       });
     });
+
+    $(".js-proxima", card).addEventListener("click", () => {
+      if (!estado.proximo) return;
+      estado.cursores[estado.pagina + 1] = estado.proximo;
+      estado.pagina++;
+      carregar(card);
+    });
+    $(".js-anterior", card).addEventListener("click", () => {
+      if (estado.pagina === 0) return;
+      estado.pagina--;
+      carregar(card);
+    });
+
+    const form = $("#filtro");
+    if (form) {
+      let espera = null;
+      const aplicar = () => {
+        estado.campo = form.elements.campo.value;
+        estado.filtro = form.elements.filtro.value.trim();
+        reiniciar(card);
+      };
+      form.addEventListener("submit", ev => { ev.preventDefault(); clearTimeout(espera); aplicar(); });
+      form.elements.campo.addEventListener("change", aplicar);
+      form.elements.filtro.addEventListener("input", () => {
+        clearTimeout(espera);
+        espera = setTimeout(aplicar, 300);
+      });
+    }
+
+    carregar(card);
   }
 
   document.addEventListener("DOMContentLoaded", wire);
@@ -68,4 +225,4 @@
     }
   });
 
-})();
\ No newline at end of file
+})();
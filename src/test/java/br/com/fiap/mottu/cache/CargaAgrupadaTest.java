@@ -0,0 +1,70 @@
+package br.com.fiap.mottu.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CargaAgrupadaTest {
+
+    @Test
+    void faltasSimultaneasViramUmaCarga() throws Exception {
+        List<Collection<Long>> cargas = new CopyOnWriteArrayList<>();
+        CargaAgrupada<Long, String> carga = new CargaAgrupada<>(ids -> {
+            cargas.add(ids);
+            // O id 7 não existe
+            return ids.stream().filter(id -> id != 7).collect(Collectors.toMap(id -> id, id -> "f" + id));
+        }, Duration.ofMillis(200), 100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<String>> resultados = new ArrayList<>();
+            for (long i = 0; i < 8; i++) {
+                long id = i;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return carga.carregar(id);
+                }));
+            }
+            largada.countDown();
+
+            for (int i = 0; i < 8; i++) {
+                assertThat(resultados.get(i).get()).isEqualTo(i == 7 ? null : "f" + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cargas).hasSize(1);
+        assertThat(cargas.get(0)).containsExactlyInAnyOrder(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void loteCheioNaoEsperaAJanela() {
+        CargaAgrupada<Long, String> carga = new CargaAgrupada<>(ids -> Map.of(1L, "um"), Duration.ofMinutes(1), 1);
+
+        assertThat(carga.carregar(1L)).isEqualTo("um");
+    }
+
+    @Test
+    void falhaDaCargaChegaAQuemEsperava() {
+        CargaAgrupada<Long, String> carga = new CargaAgrupada<>(ids -> {
+            throw new IllegalStateException("banco fora");
+        }, Duration.ZERO, 10);
+
+        assertThatThrownBy(() -> carga.carregar(1L)).isInstanceOf(IllegalStateException.class).hasMessage("banco fora");
+        assertThatThrownBy(() -> carga.carregar(1L)).isInstanceOf(IllegalStateException.class);
+    }
+}
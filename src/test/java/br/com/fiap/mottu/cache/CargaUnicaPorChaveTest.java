@@ -0,0 +1,118 @@
+package br.com.fiap.mottu.cache;
+
+import br.com.fiap.mottu.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// @Cacheable(sync = true): numa falta, só uma chamada por chave executa o método; as
+// demais esperam o mesmo resultado. Vale para as três formas que o manager monta
+@SpringJUnitConfig(CargaUnicaPorChaveTest.Config.class)
+class CargaUnicaPorChaveTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    Consultas consultas;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @BeforeEach
+    void limpar() {
+        cacheManager.getCacheNames().forEach(n -> cacheManager.getCache(n).clear());
+        consultas.cargas().set(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"lfu", "lru", "renovado"})
+    void faltaSimultaneaNaMesmaChaveVaiAoBancoUmaVez(String cache) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return consultas.buscar(cache, 42);
+                }));
+            }
+            largada.countDown();
+            for (Future<String> r : resultados) {
+                assertThat(r.get(10, TimeUnit.SECONDS)).isEqualTo("valor-42");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(consultas.cargas()).hasValue(1);
+
+        // Outra chave é outra carga
+        consultas.buscar(cache, 43);
+        assertThat(consultas.cargas()).hasValue(2);
+    }
+
+    static class Consultas {
+
+        private final AtomicInteger cargas = new AtomicInteger();
+
+        // Pelo proxy de cache: os campos só são acessíveis por métodos
+        public AtomicInteger cargas() {
+            return cargas;
+        }
+
+        @Cacheable(cacheResolver = "porNome", sync = true)
+        public String buscar(String cache, int id) throws InterruptedException {
+            cargas.incrementAndGet();
+            // Dá tempo para as demais threads chegarem enquanto a carga está em andamento
+            Thread.sleep(100);
+            return "valor-" + id;
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            CacheProperties p = new Binder(new MapConfigurationPropertySource(Map.of(
+                    "mottu.cache.caches.lru.politica", "LRU",
+                    "mottu.cache.caches.renovado.renovar-apos-escrita", "1m")))
+                    .bind("mottu.cache", CacheProperties.class).get();
+            return new ConfiguravelCacheManager(p, List.of("lfu", "lru", "renovado"));
+        }
+
+        // O primeiro argumento escolhe o cache
+        @Bean
+        CacheResolver porNome(CacheManager cacheManager) {
+            return contexto -> List.of(cacheManager.getCache((String) contexto.getArgs()[0]));
+        }
+
+        @Bean
+        Consultas consultas() {
+            return new Consultas();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.fiap.mottu.cache;
+
+import br.com.fiap.mottu.config.CacheProperties;
+import com.github.benmanes.caffeine.cache.Policy;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfiguravelCacheManagerTest {
+
+    // Mesmas chaves do application.properties
+    private static CacheProperties propriedades(Map<String, String> valores) {
+        return new Binder(new MapConfigurationPropertySource(valores))
+                .bind("mottu.cache", CacheProperties.class).orElseGet(CacheProperties::new);
+    }
+
+    @Test
+    void sobrescritaPorCacheCompletaComOPadrao() {
+        CacheProperties p = propriedades(Map.of(
+                "mottu.cache.padrao.politica", "W_TINY_LFU",
+                "mottu.cache.padrao.tamanho-maximo", "1000",
+                "mottu.cache.padrao.expirar-apos-escrita", "10m",
+                "mottu.cache.caches.funcionariosFindById.tamanho-maximo", "5000",
+                "mottu.cache.caches.funcionariosFindByPage.expirar-apos-escrita", "2m"));
+
+        CacheProperties.Especificacao porId = p.especificacao("funcionariosFindById");
+        assertThat(porId.getTamanhoMaximo()).isEqualTo(5000);
+        assertThat(porId.getExpirarAposEscrita()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(porId.getPolitica()).isEqualTo(CacheProperties.Politica.W_TINY_LFU);
+
+        CacheProperties.Especificacao paginas = p.especificacao("funcionariosFindByPage");
+        assertThat(paginas.getTamanhoMaximo()).isEqualTo(1000);
+        assertThat(paginas.getExpirarAposEscrita()).isEqualTo(Duration.ofMinutes(2));
+
+        assertThat(p.especificacao("naoDeclarado")).isSameAs(p.getPadrao());
+    }
+
+    @Test
+    void politicaDecideAImplementacao() {
+        CacheProperties p = propriedades(Map.of(
+                "mottu.cache.padrao.tamanho-maximo", "100",
+                "mottu.cache.caches.lru.politica", "LRU",
+                "mottu.cache.caches.lru.tamanho-maximo", "2",
+                "mottu.cache.caches.renovado.renovar-apos-escrita", "1m"));
+        ConfiguravelCacheManager manager = new ConfiguravelCacheManager(p, List.of("lru"));
+        manager.afterPropertiesSet();
+
+        assertThat(manager.getCache("lru")).isInstanceOf(LruCache.class);
+        Cache padrao = manager.getCache("qualquer");
+        assertThat(padrao).isInstanceOf(CaffeineCache.class);
+        Policy.Eviction<Object, Object> limite = ((CaffeineCache) padrao).getNativeCache().policy().eviction().orElseThrow();
+        assertThat(limite.getMaximum()).isEqualTo(100);
+
+        Cache renovado = manager.getCache("renovado");
+        assertThat(renovado).isInstanceOf(RenovacaoAntecipadaCache.class);
+        assertThat(((RenovacaoAntecipadaCache) renovado).alvo()).isInstanceOf(CaffeineCache.class);
+    }
+
+    @Test
+    void limiteDeTamanhoVale() {
+        CacheProperties p = propriedades(Map.of(
+                "mottu.cache.caches.lru.politica", "LRU",
+                "mottu.cache.caches.lru.tamanho-maximo", "3",
+                "mottu.cache.caches.lfu.tamanho-maximo", "3"));
+        ConfiguravelCacheManager manager = new ConfiguravelCacheManager(p, List.of());
+
+        Cache lru = manager.getCache("lru");
+        CaffeineCache lfu = (CaffeineCache) manager.getCache("lfu");
+        for (int i = 0; i < 50; i++) {
+            lru.put(i, i);
+            lfu.put(i, i);
+        }
+        // Caffeine descarta de forma assíncrona
+        lfu.getNativeCache().cleanUp();
+
+        assertThat(((LruCache) lru).tamanho()).isEqualTo(3);
+        assertThat(lru.get(49)).isNotNull();
+        assertThat(lfu.getNativeCache().estimatedSize()).isLessThanOrEqualTo(3);
+    }
+}
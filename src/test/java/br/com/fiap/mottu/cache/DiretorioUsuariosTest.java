@@ -0,0 +1,156 @@
+package br.com.fiap.mottu.cache;
+
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.utils.Cpf;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DiretorioUsuariosTest {
+
+    // Como o ObjectMapper do Spring Boot: datas em texto
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void mesmoJsonQueAsEntidades() throws Exception {
+        List<Usuario> entidades = new ArrayList<>(IntStream.range(0, 600).mapToObj(DiretorioUsuariosTest::usuario).toList());
+        Usuario incompleto = new Usuario();
+        incompleto.setCpf("99999999999");
+        incompleto.setNome("Sem endereço");
+        entidades.add(incompleto);
+
+        DiretorioUsuarios diretorio = DiretorioUsuarios.de(entidades);
+
+        assertThat(diretorio.tamanho()).isEqualTo(601);
+        assertThat(mapper.writeValueAsString(diretorio.usuarios())).isEqualTo(mapper.writeValueAsString(entidades));
+        assertThat(mapper.writeValueAsString(diretorio.usuarios().get(300))).isEqualTo(mapper.writeValueAsString(entidades.get(300)));
+        assertThat(mapper.writeValueAsString(diretorio.buscar(99_999_999_999L).orElseThrow()))
+                .isEqualTo(mapper.writeValueAsString(incompleto));
+        assertThat(diretorio.buscar(600)).isEmpty();
+        // País, estado, cidade e bairro, não 600 de cada
+        assertThat(diretorio.textosDistintos()).isEqualTo(4);
+    }
+
+    @Test
+    void escritaCopiaSoOBlocoAlterado() {
+        DiretorioUsuarios antes = DiretorioUsuarios.de(IntStream.range(0, 2_000).mapToObj(i -> usuario(i * 2)).toList());
+        Usuario novo = usuario(1_001);
+        novo.setNome("Novo");
+
+        DiretorioUsuarios depois = antes.com(novo);
+
+        assertThat(depois.tamanho()).isEqualTo(2_001);
+        assertThat(antes.tamanho()).isEqualTo(2_000);
+        assertThat(antes.buscar(1_001)).isEmpty();
+        assertThat(depois.buscar(1_001).orElseThrow().getNome()).isEqualTo("Novo");
+        long compartilhados = IntStream.range(0, antes.quantidadeBlocos())
+                .filter(b -> depois.blocoEm(b) == antes.blocoEm(b)).count();
+        assertThat(compartilhados).isEqualTo(antes.quantidadeBlocos() - 1);
+
+        DiretorioUsuarios removido = depois.sem(0).sem(1);
+        assertThat(removido.tamanho()).isEqualTo(2_000);
+        assertThat(removido.usuarios().get(0).getCpf()).isEqualTo(cpf(2));
+        assertThat(depois.buscar(0)).isPresent();
+    }
+
+    @Test
+    void edicoesNaoFazemODicionarioCrescer() {
+        DiretorioUsuarios diretorio = DiretorioUsuarios.de(IntStream.range(0, 100).mapToObj(DiretorioUsuariosTest::usuario).toList());
+        int antes = diretorio.textosDistintos();
+
+        for (int i = 0; i < 1_000; i++) {
+            Usuario u = usuario(i % 100);
+            u.getEndereco().setLogradouro("Rua " + i);
+            u.getEndereco().setComplemento("Apto " + i);
+            diretorio = diretorio.com(u);
+        }
+
+        assertThat(diretorio.textosDistintos()).isEqualTo(antes);
+        assertThat(diretorio.buscar(99).orElseThrow().getEndereco().getLogradouro()).isEqualTo("Rua 999");
+    }
+
+    @Test
+    void blocoCheioSeDivideEMantemAOrdem() {
+        DiretorioUsuarios diretorio = DiretorioUsuarios.de(List.of(usuario(0), usuario(10_000)));
+        for (int i = 1; i <= DiretorioUsuarios.LIMITE_BLOCO; i++) {
+            diretorio = diretorio.com(usuario(i));
+        }
+
+        assertThat(diretorio.quantidadeBlocos()).isEqualTo(2);
+        List<String> cpfs = diretorio.usuarios().stream().map(Usuario::getCpf).toList();
+        assertThat(cpfs).hasSize(DiretorioUsuarios.LIMITE_BLOCO + 2).isSorted();
+        assertThat(diretorio.usuarios().get(DiretorioUsuarios.LIMITE_BLOCO + 1).getCpf()).isEqualTo(cpf(10_000));
+        assertThat(diretorio.buscar(DiretorioUsuarios.LIMITE_BLOCO)).isPresent();
+    }
+
+    @Test
+    void construtorExigeCpfsEmOrdemEIgnoraForaDoPadrao() {
+        Usuario antigo = usuario(3);
+        antigo.setCpf("1234567890");
+        DiretorioUsuarios.Construtor construtor = DiretorioUsuarios.construtor().adicionar(usuario(2)).adicionar(antigo);
+
+        assertThatThrownBy(() -> construtor.adicionar(usuario(1))).isInstanceOf(IllegalStateException.class);
+        assertThat(construtor.ignorados()).isEqualTo(1);
+        assertThat(construtor.construir().tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    void cpfDaMotoIgualAoDoUsuarioNaoEGuardadoDuasVezes() {
+        Usuario outro = usuario(7);
+        outro.getPlaca().setCpf("111.222.333-44");
+
+        DiretorioUsuarios diretorio = DiretorioUsuarios.de(List.of(usuario(5), outro));
+
+        assertThat(diretorio.buscar(5).orElseThrow().getPlaca().getCpf()).isEqualTo(cpf(5));
+        assertThat(diretorio.buscar(7).orElseThrow().getPlaca().getCpf()).isEqualTo("11122233344");
+        assertThat(diretorio.buscar(Cpf.numero("000.000.000-05"))).isPresent();
+    }
+
+    private static String cpf(int i) {
+        return String.format("%011d", i);
+    }
+
+    // Como lido do banco: DT_NASCIMENTO chega como java.sql.Date
+    private static Usuario usuario(int i) {
+        Endereco e = new Endereco();
+        e.setCep(1_000_000L + i);
+        e.setPais("Brasil");
+        e.setEstado("SP");
+        e.setCidade("São Paulo");
+        e.setBairro("Consolação");
+        e.setNumero(100L + i);
+        e.setLogradouro("Av. Paulista");
+        e.setComplemento("Andar " + (i % 10));
+
+        Moto m = new Moto();
+        m.setPlaca("ABC" + (1000 + i));
+        m.setCpf(cpf(i));
+        m.setNiv("9BWZZZ377VT004251");
+        m.setMotor("CG160" + i);
+        m.setRenavam(12_345_678L + i);
+        m.setFipe(9_200L);
+
+        Usuario u = new Usuario();
+        u.setCpf(cpf(i));
+        u.setNome("Usuário " + i);
+        u.setDataNascimento(java.sql.Date.valueOf(LocalDate.of(1990, 1, 1).plusDays(i)));
+        u.setEndereco(e);
+        u.setPlaca(m);
+        u.setCriadoEm(LocalDateTime.of(2025, 1, 1, 8, 0));
+        u.setAtualizadoEm(LocalDateTime.of(2025, 6, 1, 8, 0, 0, 123_456_789));
+        u.setVersao(i % 3);
+        return u;
+    }
+}
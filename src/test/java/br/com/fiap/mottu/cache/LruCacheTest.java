@@ -0,0 +1,115 @@
+package br.com.fiap.mottu.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    @Test
+    void cheioDescartaOMenosUsadoRecentemente() {
+        LruCache cache = new LruCache("teste", 2, null, null);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // Leitura de "a" faz de "b" o mais antigo
+        assertThat(cache.get("a").get()).isEqualTo(1);
+
+        cache.put("c", 3);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a").get()).isEqualTo(1);
+        assertThat(cache.get("c").get()).isEqualTo(3);
+        assertThat(cache.tamanho()).isEqualTo(2);
+        assertThat(cache.eviccoes()).isEqualTo(1);
+    }
+
+    @Test
+    void gravacaoNaoRenovaAPosicaoDosOutros() {
+        LruCache cache = new LruCache("teste", 3, null, null);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.put("a", 10);
+
+        cache.put("d", 4);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a").get()).isEqualTo(10);
+    }
+
+    @Test
+    void expiraPorTempoDeEscritaEPorOciosidade() throws InterruptedException {
+        LruCache ttl = new LruCache("ttl", 10, Duration.ofMillis(30), null);
+        LruCache ocioso = new LruCache("ocioso", 10, null, Duration.ofMillis(30));
+        ttl.put("a", 1);
+        ocioso.put("a", 1);
+        ocioso.put("b", 2);
+
+        Thread.sleep(20);
+        // Lida antes de ficar ociosa: ganha mais 30 ms
+        assertThat(ocioso.get("a")).isNotNull();
+        Thread.sleep(20);
+
+        assertThat(ttl.get("a")).isNull();
+        assertThat(ocioso.get("a")).isNotNull();
+        assertThat(ocioso.get("b")).isNull();
+    }
+
+    @Test
+    void nuloFicaEmCacheComoValor() {
+        LruCache cache = new LruCache("teste", 10, null, null);
+        cache.put("ausente", null);
+
+        assertThat(cache.get("ausente")).isNotNull();
+        assertThat(cache.get("ausente").get()).isNull();
+        assertThat(cache.acertos()).isEqualTo(2);
+    }
+
+    @Test
+    void remocaoDuranteACargaNaoEhDesfeitaPeloValorCarregado() throws Exception {
+        LruCache cache = new LruCache("teste", 10, null, null);
+        CountDownLatch carregando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Object> leitura = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+            carregando.countDown();
+            liberar.await();
+            return "lido antes da remoção";
+        }));
+        assertThat(carregando.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.evict("a");
+        liberar.countDown();
+
+        // Quem pediu recebe o que leu; o cache não guarda
+        assertThat(leitura.get(5, TimeUnit.SECONDS)).isEqualTo("lido antes da remoção");
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void gravacaoDuranteACargaPrevalece() throws Exception {
+        LruCache cache = new LruCache("teste", 10, null, null);
+        CountDownLatch carregando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Object> leitura = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+            carregando.countDown();
+            liberar.await();
+            return "antigo";
+        }));
+        assertThat(carregando.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.put("a", "novo");
+        liberar.countDown();
+
+        assertThat(leitura.get(5, TimeUnit.SECONDS)).isEqualTo("antigo");
+        assertThat(cache.get("a").get()).isEqualTo("novo");
+
+        // Sem interferência, a carga fica em cache
+        assertThat(cache.get("b", () -> "b1")).isEqualTo("b1");
+        assertThat(cache.get("b").get()).isEqualTo("b1");
+    }
+}
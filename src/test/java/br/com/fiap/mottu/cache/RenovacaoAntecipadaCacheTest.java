@@ -0,0 +1,82 @@
+package br.com.fiap.mottu.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenovacaoAntecipadaCacheTest {
+
+    // Executor manual: a recarga só roda quando o teste manda
+    private final List<Runnable> pendentes = new ArrayList<>();
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    private final RenovacaoAntecipadaCache cache =
+            new RenovacaoAntecipadaCache(new LruCache("teste", 10, null, null), Duration.ZERO, pendentes::add);
+
+    private String carregar() {
+        return "v" + cargas.incrementAndGet();
+    }
+
+    private void rodarPendentes() {
+        List<Runnable> agora = new ArrayList<>(pendentes);
+        pendentes.clear();
+        agora.forEach(Runnable::run);
+    }
+
+    @Test
+    void leituraVencidaRecebeOValorAtualERecarregaEmSegundoPlano() {
+        assertThat(cache.get("k", this::carregar)).isEqualTo("v1");
+        // Vencida: devolve v1 sem esperar, uma única recarga agendada
+        assertThat(cache.get("k", this::carregar)).isEqualTo("v1");
+        assertThat(cache.get("k", this::carregar)).isEqualTo("v1");
+        assertThat(pendentes).hasSize(1);
+
+        rodarPendentes();
+
+        assertThat(cache.get("k", String.class)).isEqualTo("v2");
+        assertThat(cargas).hasValue(2);
+    }
+
+    @Test
+    void recargaNaoRessuscitaEntradaRemovida() {
+        cache.get("k", this::carregar);
+        cache.get("k", this::carregar);
+
+        cache.evict("k");
+        rodarPendentes();
+
+        assertThat(cache.get("k")).isNull();
+    }
+
+    @Test
+    void recargaNaoSobrescreveGravacaoMaisNova() {
+        cache.get("k", this::carregar);
+        cache.get("k", this::carregar);
+
+        cache.put("k", "escrito");
+        rodarPendentes();
+
+        assertThat(cache.get("k", String.class)).isEqualTo("escrito");
+    }
+
+    @Test
+    void falhaNaRecargaMantemOValorAnterior() {
+        // Gravado sem carga: nenhuma recarga agendada ainda
+        cache.put("k", "v1");
+        cache.get("k", () -> {
+            throw new IllegalStateException("banco fora");
+        });
+
+        rodarPendentes();
+
+        assertThat(cache.get("k", String.class)).isEqualTo("v1");
+        // Terminada (com falha), a próxima leitura vencida pode agendar outra
+        cache.get("k", this::carregar);
+        assertThat(pendentes).hasSize(1);
+    }
+}
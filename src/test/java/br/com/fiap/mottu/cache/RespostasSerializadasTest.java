@@ -0,0 +1,66 @@
+package br.com.fiap.mottu.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RespostasSerializadasTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RespostasSerializadas respostas = new RespostasSerializadas(new ObjectMapper(), registry);
+
+    @Test
+    void mesmaVersaoNaoSerializaDeNovo() {
+        Contado corpo = new Contado("x");
+
+        ResponseEntity<byte[]> primeira = respostas.json("itens", "\"v1\"", List.of(corpo), null);
+        ResponseEntity<byte[]> segunda = respostas.json("itens", "\"v1\"", List.of(corpo), null);
+        respostas.json("itens", "\"v2\"", List.of(corpo), null);
+
+        assertThat(corpo.serializacoes.get()).isEqualTo(2);
+        assertThat(segunda.getBody()).isSameAs(primeira.getBody());
+        assertThat(new String(primeira.getBody())).isEqualTo("[{\"valor\":\"x\"}]");
+        assertThat(primeira.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(registry.get("mottu.respostas.serializadas").tag("resultado", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void gzipSoQuandoAceitoEValeAPena() throws Exception {
+        List<Contado> grande = java.util.stream.IntStream.range(0, 200).mapToObj(i -> new Contado("valor " + i)).toList();
+
+        ResponseEntity<byte[]> gzip = respostas.json("grande", "\"v1\"", grande, "gzip, deflate, br");
+        ResponseEntity<byte[]> identidade = respostas.json("grande", "\"v1\"", grande, "gzip;q=0, deflate");
+        ResponseEntity<byte[]> pequena = respostas.json("pequena", "\"v1\"", List.of(new Contado("x")), "gzip");
+
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getETag()).isEqualTo("\"v1-gzip\"");
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzip.getBody())).readAllBytes()).isEqualTo(identidade.getBody());
+        assertThat(gzip.getBody().length).isLessThan(identidade.getBody().length / 2);
+        assertThat(identidade.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(pequena.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(pequena.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    static class Contado {
+        final String valor;
+        final AtomicInteger serializacoes = new AtomicInteger();
+
+        Contado(String valor) {
+            this.valor = valor;
+        }
+
+        public String getValor() {
+            serializacoes.incrementAndGet();
+            return valor;
+        }
+    }
+}
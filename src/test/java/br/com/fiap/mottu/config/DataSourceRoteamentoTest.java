@@ -0,0 +1,207 @@
+package br.com.fiap.mottu.config;
+
+import br.com.fiap.mottu.datasource.MonitorReplica;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.repositories.FuncionarioRepository;
+import br.com.fiap.mottu.service.FuncionarioCachingService;
+import br.com.fiap.mottu.service.FuncionarioService;
+import br.com.fiap.mottu.service.UsuarioCachingService;
+import br.com.fiap.mottu.service.UsuarioService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Primária e réplica como dois H2 em memória. Não há replicação entre eles: o batimento
+// da réplica é gravado pelo teste, simulando uma réplica em dia ou atrasada
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primaria;DB_CLOSE_DELAY=-1",
+        "mottu.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "mottu.datasource.replica.verificacao=1h",
+        "mottu.sincronizacao.margem=2h"
+})
+@ActiveProfiles("test")
+class DataSourceRoteamentoTest {
+
+    private static final String TABELA = "CREATE TABLE IF NOT EXISTS T_MT_BATIMENTO "
+            + "(ID_BATIMENTO INT PRIMARY KEY, DT_BATIMENTO TIMESTAMP NOT NULL)";
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    HikariDataSource dataSourcePrimaria;
+
+    @Autowired
+    HikariDataSource dataSourceReplica;
+
+    @Autowired
+    MonitorReplica monitor;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    FuncionarioService funcionarioService;
+
+    @Autowired
+    FuncionarioCachingService funcionarioCachingService;
+
+    @Autowired
+    UsuarioService usuarioService;
+
+    @Autowired
+    UsuarioCachingService usuarioCachingService;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void batimentos() {
+        new JdbcTemplate(dataSourcePrimaria).execute(TABELA);
+        replica = new JdbcTemplate(dataSourceReplica);
+        replica.execute(TABELA);
+        replica.update("DELETE FROM T_MT_BATIMENTO");
+        replica.update("INSERT INTO T_MT_BATIMENTO VALUES (1, ?)", Timestamp.from(Instant.now()));
+        monitor.verificar();
+    }
+
+    @Test
+    void somenteLeituraVaiParaAReplica() {
+        assertThat(monitor.disponivel()).isTrue();
+        assertThat(banco(true)).isEqualTo("REPLICA");
+        assertThat(banco(false)).isEqualTo("PRIMARIA");
+        // Fora de transação: primária
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT CURRENT_CATALOG", String.class)).isEqualTo("PRIMARIA");
+        assertThat(registry.get("mottu.datasource.replica.disponivel").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("hikaricp.connections").tag("pool", "mottu-replica").gauge()).isNotNull();
+    }
+
+    @Test
+    void replicaAtrasadaDevolveLeiturasAPrimaria() {
+        replica.update("UPDATE T_MT_BATIMENTO SET DT_BATIMENTO = ?", Timestamp.from(Instant.now().minus(10, ChronoUnit.MINUTES)));
+        monitor.verificar();
+
+        assertThat(monitor.disponivel()).isFalse();
+        assertThat(monitor.atraso()).isGreaterThan(Duration.ofMinutes(9));
+        assertThat(banco(true)).isEqualTo("PRIMARIA");
+
+        // Réplica sem a tabela (ou fora do ar) também fica de fora
+        replica.execute("DROP TABLE T_MT_BATIMENTO");
+        monitor.verificar();
+        assertThat(monitor.disponivel()).isFalse();
+        assertThat(banco(true)).isEqualTo("PRIMARIA");
+    }
+
+    @Test
+    void consultasDoRepositorioVaoAReplicaMenosAsQueAntecedemEscritas() {
+        // O schema do Hibernate só existe na primária: a consulta que vai à réplica não acha a tabela
+        assertThatThrownBy(() -> funcionarioRepository.findByOrderByIdAsc(Limit.of(1)))
+                .isInstanceOf(InvalidDataAccessResourceUsageException.class);
+        assertThat(funcionarioRepository.findById(-1L)).isEmpty();
+        assertThat(funcionarioRepository.findByCpf("00000000000")).isEmpty();
+    }
+
+    @Test
+    void replicaAtrasadaNaoDevolveAoCacheUmRegistroRemovido() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = tx.execute(s -> funcionario("00000000008"));
+        tx.executeWithoutResult(s -> entityManager.persist(usuario("70000000008")));
+
+        // Réplica em dia pelo batimento, mas ainda sem as remoções abaixo
+        new JdbcTemplate(dataSourcePrimaria).queryForList("SCRIPT DROP", String.class).forEach(replica::execute);
+        try {
+            assertThat(funcionarioService.remover(id)).isTrue();
+            assertThat(usuarioService.remover("70000000008")).isTrue();
+            funcionarioCachingService.limparCache();
+            usuarioCachingService.limparCache();
+            assertThat(monitor.disponivel()).isTrue();
+
+            assertThat(funcionarioCachingService.findById(id)).isEmpty();
+            assertThat(funcionarioCachingService.findAllById(List.of(id))).isEmpty();
+            assertThat(funcionarioCachingService.cacheFindAll()).extracting(Funcionario::getId).doesNotContain(id);
+            assertThat(usuarioCachingService.findById("70000000008")).isEmpty();
+        } finally {
+            replica.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    private Long funcionario(String cpf) {
+        Funcionario f = new Funcionario();
+        f.setNome("Removido");
+        f.setCpf(cpf);
+        f.setSenha("Senha123");
+        Endereco e = endereco(4_000_001L);
+        entityManager.persist(e);
+        f.setEndereco(e);
+        entityManager.persist(f);
+        return f.getId();
+    }
+
+    private Usuario usuario(String cpf) {
+        Moto m = new Moto();
+        m.setPlaca("RPL0008");
+        m.setCpf(cpf);
+        m.setNiv("9BWZZZ377VT004251");
+        m.setMotor("CG1600");
+        m.setRenavam(12_345_678L);
+        m.setFipe(9_200L);
+
+        Usuario u = new Usuario();
+        u.setCpf(cpf);
+        u.setNome("Removido");
+        u.setDataNascimento(new Date(0));
+        u.setEndereco(endereco(4_000_002L));
+        u.setPlaca(m);
+        return u;
+    }
+
+    private static Endereco endereco(long cep) {
+        Endereco e = new Endereco();
+        e.setCep(cep);
+        e.setPais("Brasil");
+        e.setEstado("SP");
+        e.setCidade("São Paulo");
+        e.setBairro("Centro");
+        e.setNumero(1L);
+        e.setLogradouro("Rua");
+        return e;
+    }
+
+    private String banco(boolean somenteLeitura) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(somenteLeitura);
+        return tx.execute(s -> new JdbcTemplate(dataSource).queryForObject("SELECT CURRENT_CATALOG", String.class));
+    }
+}
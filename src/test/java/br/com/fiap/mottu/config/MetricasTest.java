@@ -0,0 +1,98 @@
+package br.com.fiap.mottu.config;
+
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Base64;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /actuator/prometheus com HTTP Basic: caches, repositórios, endpoints e pool Hikari
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricas;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricasTest {
+
+    private static final String CPF = "99999999999";
+    private static final String SENHA = "Senha123";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Test
+    void prometheusExpoeCachesRepositoriosEndpointsEHikari() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            Role admin = new Role();
+            admin.setNome("ROLE_ADMIN");
+            entityManager.persist(admin);
+
+            Endereco e = new Endereco();
+            e.setCep(9_999_999L);
+            e.setPais("Brasil");
+            e.setEstado("SP");
+            e.setCidade("São Paulo");
+            e.setBairro("Centro");
+            e.setNumero(1L);
+            e.setLogradouro("Rua");
+            entityManager.persist(e);
+
+            Funcionario f = new Funcionario();
+            f.setNome("Admin");
+            f.setCpf(CPF);
+            f.setSenha(passwordEncoder.encode(SENHA));
+            f.setEndereco(e);
+            f.setRoles(Set.of(admin));
+            entityManager.persist(f);
+        });
+
+        String basic = "Basic " + Base64.getEncoder().encodeToString((CPF + ":" + SENHA).getBytes());
+        // HTTP Basic só vale no actuator; o resto continua no login por formulário
+        mvc.perform(get("/funcionarios/todos").header("Authorization", basic))
+                .andExpect(status().is3xxRedirection());
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/metrics").header("Authorization", basic)).andExpect(status().isOk());
+
+        String corpo = mvc.perform(get("/actuator/prometheus").header("Authorization", basic))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(corpo)
+                .contains("cache_gets_total{application=\"mottu\",cache=\"funcionariosFindById\"")
+                .contains("cache_gets_total{application=\"mottu\",cache=\"funcionariosUserDetails\"")
+                .contains("cache_load_duration_seconds{application=\"mottu\",cache=\"usuariosFindAll\"")
+                .contains("cache_load_total{application=\"mottu\",cache=\"funcionariosUserDetails\"")
+                .contains("http_server_requests_seconds_bucket")
+                .contains("spring_data_repository_invocations_seconds_bucket")
+                .contains("mottu_login_seconds_bucket")
+                .contains("hikaricp_connections_pending{application=\"mottu\",pool=\"mottu\"}")
+                .contains("hibernate_second_level_cache_requests_total{application=\"mottu\",entityManagerFactory=\"mottu\",region=\"enderecos\"");
+    }
+}
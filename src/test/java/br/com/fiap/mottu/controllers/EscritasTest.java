@@ -0,0 +1,270 @@
+package br.com.fiap.mottu.controllers;
+
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Role;
+import br.com.fiap.mottu.repositories.FuncionarioRepository;
+import br.com.fiap.mottu.service.FuncionarioCachingService;
+import br.com.fiap.mottu.service.FuncionarioService;
+import br.com.fiap.mottu.service.SincronizacaoService;
+import br.com.fiap.mottu.service.UsuarioCachingService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Remoção e PATCH: um único comando no banco, sem ler a linha antes. A versão (NR_VERSAO)
+// enviada no PATCH é conferida pelo próprio UPDATE
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:escritas;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EscritasTest {
+
+    private static final String CPF = "00000000001";
+    private static final String SENHA = "Senha123";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    FuncionarioCachingService funcionarioCachingService;
+
+    @Autowired
+    UsuarioCachingService usuarioCachingService;
+
+    @Autowired
+    FuncionarioService funcionarioService;
+
+    @MockitoSpyBean
+    SincronizacaoService sincronizacaoService;
+
+    private Statistics estatisticas;
+    private MockHttpSession sessao;
+    private Role admin;
+
+    @BeforeAll
+    void popular() throws Exception {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        admin = transactionTemplate.execute(status -> {
+            Role r = new Role();
+            r.setNome("ROLE_ADMIN");
+            entityManager.persist(r);
+            return r;
+        });
+        funcionario(CPF);
+
+        MvcResult login = mvc.perform(post("/login").param("username", CPF).param("password", SENHA))
+                .andExpect(redirectedUrl("/home"))
+                .andReturn();
+        sessao = (MockHttpSession) login.getRequest().getSession();
+    }
+
+    @BeforeEach
+    void limpar() {
+        funcionarioCachingService.limparCache();
+        usuarioCachingService.limparCache();
+        estatisticas.clear();
+    }
+
+    @Test
+    void remocaoDoFuncionarioEhUmDeleteSo() throws Exception {
+        Long id = funcionario("00000000002");
+        funcionarioRepository.findByCpf("00000000002").orElseThrow();
+        estatisticas.clear();
+
+        assertThat(funcionarioRepository.removerPorId(id)).isEqualTo(1);
+
+        // Os papéis saem pelo ON DELETE CASCADE, sem um DELETE a mais em T_MT_FUNCIONARIO_ROLE
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(papeis(id)).isZero();
+        // O login em cache de consultas não sobrevive à remoção
+        assertThat(funcionarioRepository.findByCpf("00000000002")).isEmpty();
+        assertThat(estatisticas.getQueryCacheHitCount()).isZero();
+        mvc.perform(delete("/funcionarios/{id}", id).session(sessao))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void remocaoPeloEndpoint() throws Exception {
+        Long id = funcionario("00000000003");
+        funcionarioCachingService.findById(id);
+
+        mvc.perform(delete("/funcionarios/{id}", id).session(sessao))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/funcionarios/{id}", id).session(sessao))
+                .andExpect(status().isNotFound());
+        assertThat(remocoes(String.valueOf(id))).isEqualTo(1);
+    }
+
+    @Test
+    void remocaoSemAMarcaDeSincronizacaoEhDesfeita() {
+        Long id = funcionario("00000000006");
+        doThrow(new IllegalStateException("T_MT_REMOCAO indisponível"))
+                .when(sincronizacaoService).removido(AlteracaoDTO.FUNCIONARIO, id);
+
+        assertThatThrownBy(() -> funcionarioService.remover(id)).isInstanceOf(IllegalStateException.class);
+
+        // O DELETE volta junto: o cliente da sincronização não perde a remoção
+        assertThat(funcionarioRepository.existsById(id)).isTrue();
+        assertThat(remocoes(String.valueOf(id))).isZero();
+    }
+
+    @Test
+    void patchDoFuncionarioConfereAVersao() throws Exception {
+        Long id = funcionario("00000000004");
+        funcionarioCachingService.findById(id);
+        estatisticas.clear();
+
+        mvc.perform(patch("/funcionarios/{id}", id).session(sessao)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"versao\":0,\"nome\":\"Novo nome\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Novo nome"))
+                .andExpect(jsonPath("$.cpf").value("00000000004"))
+                .andExpect(jsonPath("$.versao").value(1));
+        // Só o UPDATE: a nova versão sai da cópia em cache
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+
+        estatisticas.clear();
+        mvc.perform(get("/funcionarios/{id}", id).session(sessao))
+                .andExpect(jsonPath("$.nome").value("Novo nome"));
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+
+        mvc.perform(patch("/funcionarios/{id}", id).session(sessao)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"versao\":0,\"nome\":\"Outro\"}"))
+                .andExpect(status().isConflict());
+        mvc.perform(patch("/funcionarios/{id}", -1).session(sessao)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"versao\":0,\"nome\":\"Outro\"}"))
+                .andExpect(status().isNotFound());
+        mvc.perform(patch("/funcionarios/{id}", id).session(sessao)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"Outro\"}"))
+                .andExpect(status().isBadRequest());
+
+        // Fora do cache: relida uma vez depois do UPDATE
+        funcionarioCachingService.limparCache();
+        mvc.perform(patch("/funcionarios/{id}", id).session(sessao)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"versao\":1,\"cpf\":\"000.000.000-05\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cpf").value("00000000005"))
+                .andExpect(jsonPath("$.nome").value("Novo nome"))
+                .andExpect(jsonPath("$.versao").value(2));
+    }
+
+    @Test
+    void usuarioCadastradoAlteradoERemovido() throws Exception {
+        String corpo = """
+                {"cpf": "111.222.333-44", "nome": "Usuário", "dataNascimento": "1990-01-01",
+                 "endereco": {"cep": 2000000, "pais": "Brasil", "estado": "SP", "cidade": "São Paulo",
+                              "bairro": "Centro", "numero": 10, "logradouro": "Rua"},
+                 "placa": {"placa": "XYZ1234", "cpf": "11122233344", "niv": "9BWZZZ377VT004251",
+                           "motor": "CG1600", "renavam": 12345678, "fipe": 9200}}
+                """;
+        mvc.perform(post("/usuarios/cadastro").session(sessao).contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.versao").value(0));
+        usuarioCachingService.diretorio();
+        estatisticas.clear();
+
+        mvc.perform(patch("/usuarios/{cpf}", "111.222.333-44").session(sessao)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"versao\":0,\"nome\":\"Outro nome\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Outro nome"))
+                .andExpect(jsonPath("$.placa.placa").value("XYZ1234"))
+                .andExpect(jsonPath("$.versao").value(1));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(usuarioCachingService.findById("11122233344").orElseThrow().getNome()).isEqualTo("Outro nome");
+
+        mvc.perform(patch("/usuarios/{cpf}", "11122233344").session(sessao)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"versao\":0,\"nome\":\"Atrasado\"}"))
+                .andExpect(status().isConflict());
+
+        mvc.perform(delete("/usuarios/{cpf}", "11122233344").session(sessao))
+                .andExpect(status().isOk());
+        assertThat(usuarioCachingService.findById("11122233344")).isEmpty();
+        assertThat(remocoes("11122233344")).isEqualTo(1);
+        mvc.perform(delete("/usuarios/{cpf}", "11122233344").session(sessao))
+                .andExpect(status().isNotFound());
+    }
+
+    private Long funcionario(String cpf) {
+        return transactionTemplate.execute(status -> {
+            Endereco e = entityManager.find(Endereco.class, 1_000_000L);
+            if (e == null) {
+                e = new Endereco();
+                e.setCep(1_000_000L);
+                e.setPais("Brasil");
+                e.setEstado("SP");
+                e.setCidade("São Paulo");
+                e.setBairro("Centro");
+                e.setNumero(1L);
+                e.setLogradouro("Rua");
+                entityManager.persist(e);
+            }
+            Funcionario f = new Funcionario();
+            f.setNome("Funcionário " + cpf);
+            f.setCpf(cpf);
+            f.setSenha(passwordEncoder.encode(SENHA));
+            f.setEndereco(e);
+            f.setRoles(Set.of(entityManager.merge(admin)));
+            entityManager.persist(f);
+            return f.getId();
+        });
+    }
+
+    private long remocoes(String id) {
+        return transactionTemplate.execute(status -> ((Number) entityManager
+                .createNativeQuery("select count(*) from T_MT_REMOCAO where CD_ID = ?1")
+                .setParameter(1, id).getSingleResult()).longValue());
+    }
+
+    private long papeis(Long id) {
+        return transactionTemplate.execute(status -> ((Number) entityManager
+                .createNativeQuery("select count(*) from T_MT_FUNCIONARIO_ROLE where ID_FUNCIONARIO = ?1")
+                .setParameter(1, id).getSingleResult()).longValue());
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.fiap.mottu.controllers;
+
+import br.com.fiap.mottu.cache.RegioesHibernate;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Role;
+import br.com.fiap.mottu.repositories.FuncionarioRepository;
+import br.com.fiap.mottu.repositories.RoleRepository;
+import br.com.fiap.mottu.service.FuncionarioCachingService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Quantidade de statements SQL por endpoint de funcionários, com cache vazio.
+// Com os papéis EAGER cada funcionário listado custava uma consulta extra.
+// O login repetido sai do cache de UserDetails, sem ir ao banco; endereços, papéis
+// e consultas por CPF/nome ficam no cache de segundo nível do Hibernate.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FuncionarioConsultasTest {
+
+    private static final int FUNCIONARIOS = 5;
+    private static final String SENHA = "Senha123";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    FuncionarioCachingService cachingService;
+
+    @Autowired
+    FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    private Statistics estatisticas;
+    private MockHttpSession sessao;
+    private Long primeiroId;
+
+    @BeforeAll
+    void popular() throws Exception {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        primeiroId = transactionTemplate.execute(status -> {
+            Role admin = role("ROLE_ADMIN");
+            Role user = role("ROLE_USER");
+            Long id = null;
+            for (int i = 0; i < FUNCIONARIOS; i++) {
+                Endereco e = new Endereco();
+                e.setCep(1_000_000L + i);
+                e.setPais("Brasil");
+                e.setEstado("SP");
+                e.setCidade("São Paulo");
+                e.setBairro("Centro");
+                e.setNumero((long) i);
+                e.setLogradouro("Rua " + i);
+                entityManager.persist(e);
+
+                Funcionario f = new Funcionario();
+                f.setNome("Funcionário " + i);
+                f.setCpf(String.format("%011d", i));
+                f.setSenha(passwordEncoder.encode(SENHA));
+                f.setEndereco(e);
+                f.setRoles(Set.of(admin, user));
+                entityManager.persist(f);
+                if (id == null) id = f.getId();
+            }
+            return id;
+        });
+
+        estatisticas.clear();
+        sessao = logar();
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @BeforeEach
+    void limpar() {
+        cachingService.limparCache();
+        estatisticas.clear();
+    }
+
+    @Test
+    void listarTodosUsaUmaConsulta() throws Exception {
+        mvc.perform(get("/funcionarios/todos").session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(FUNCIONARIOS))
+                .andExpect(jsonPath("$[0].roles.length()").value(2))
+                .andExpect(jsonPath("$[0].endereco.cep").exists());
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarPorIdUsaUmaConsulta() throws Exception {
+        mvc.perform(get("/funcionarios/{id}", primeiroId).session(sessao))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.roles.length()").value(2));
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loteBuscaAsFaltasNumaConsulta() throws Exception {
+        cachingService.findById(primeiroId);
+        estatisticas.clear();
+
+        mvc.perform(get("/funcionarios/lote")
+                        .param("ids", String.valueOf(primeiroId + 2), String.valueOf(primeiroId), "-1",
+                                String.valueOf(primeiroId + 1), String.valueOf(primeiroId + 2))
+                        .session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.funcionarios.length()").value(3))
+                .andExpect(jsonPath("$.funcionarios[0].id").value(primeiroId + 2))
+                .andExpect(jsonPath("$.funcionarios[1].id").value(primeiroId))
+                .andExpect(jsonPath("$.funcionarios[2].roles.length()").value(2))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(-1));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+
+        // Faltas (inclusive o id inexistente) ficaram em cache
+        estatisticas.clear();
+        mvc.perform(get("/funcionarios/lote").param("ids", "-1," + (primeiroId + 1)).session(sessao))
+                .andExpect(jsonPath("$.funcionarios.length()").value(1));
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void paginadosNaoCarregaPapeis() throws Exception {
+        mvc.perform(get("/funcionarios/paginados").param("size", "2").session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+
+        // página + count
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(estatisticas.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void cursorNaoCarregaPapeis() throws Exception {
+        mvc.perform(get("/funcionarios/cursor").param("size", "2").session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2));
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void todosRespondeNaoModificadoAteUmaEscrita() throws Exception {
+        String etag = mvc.perform(get("/funcionarios/todos").session(sessao))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).isNotBlank();
+
+        mvc.perform(get("/funcionarios/todos").header("If-None-Match", etag).session(sessao))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        cachingService.salvo(cachingService.findById(primeiroId).orElseThrow());
+        mvc.perform(get("/funcionarios/todos").header("If-None-Match", etag).session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void buscarPorIdRespondeNaoModificado() throws Exception {
+        var resposta = mvc.perform(get("/funcionarios/{id}", primeiroId).session(sessao))
+                .andExpect(status().isFound())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse();
+
+        mvc.perform(get("/funcionarios/{id}", primeiroId)
+                        .header("If-None-Match", resposta.getHeader("ETag")).session(sessao))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mvc.perform(get("/funcionarios/{id}", primeiroId)
+                        .header("If-Modified-Since", resposta.getHeader("Last-Modified")).session(sessao))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void loginRepetidoUsaCacheAteSalvarOFuncionario() throws Exception {
+        logar();
+        estatisticas.clear();
+        logar();
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+
+        // Sem o UserDetails, findByCpf sai do cache de consultas: o funcionário não mudou no banco
+        Funcionario f = cachingService.findById(primeiroId).orElseThrow();
+        cachingService.salvo(f);
+        estatisticas.clear();
+        logar();
+        assertThat(estatisticas.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void referenciasSaemDoCacheDeSegundoNivel() {
+        entityManagerFactory.getCache().evictAll();
+        String cpf = String.format("%011d", 1);
+
+        estatisticas.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Funcionario f = funcionarioRepository.findByCpf(cpf).orElseThrow();
+            f.getEndereco().getCidade();
+            roleRepository.findByNome("ROLE_ADMIN").orElseThrow();
+        });
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(3);
+
+        // Nova sessão: consulta, papéis, endereço e papel por nome vêm do cache
+        estatisticas.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Funcionario f = funcionarioRepository.findByCpf(cpf).orElseThrow();
+            assertThat(f.getRoles()).hasSize(2);
+            assertThat(f.getEndereco().getCidade()).isEqualTo("São Paulo");
+            roleRepository.findByNome("ROLE_ADMIN").orElseThrow();
+        });
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+        assertThat(estatisticas.getCacheRegionStatistics(RegioesHibernate.ENDERECOS).getHitCount()).isEqualTo(1);
+    }
+
+    private MockHttpSession logar() throws Exception {
+        MvcResult login = mvc.perform(post("/login")
+                        .param("username", String.format("%011d", 0))
+                        .param("password", SENHA))
+                .andExpect(redirectedUrl("/home"))
+                .andReturn();
+        return (MockHttpSession) login.getRequest().getSession();
+    }
+
+    private Role role(String nome) {
+        Role r = new Role();
+        r.setNome(nome);
+        entityManager.persist(r);
+        return r;
+    }
+}
@@ -0,0 +1,182 @@
+package br.com.fiap.mottu.controllers;
+
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Funcionario;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Role;
+import br.com.fiap.mottu.service.MotoCachingService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Busca de motos por placa, NIV, RENAVAM e em lote: statements SQL por chamada
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:motos;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MotoConsultasTest {
+
+    private static final int MOTOS = 5;
+    private static final String CPF = "00000000001";
+    private static final String SENHA = "Senha123";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    MotoCachingService cachingService;
+
+    private Statistics estatisticas;
+    private MockHttpSession sessao;
+
+    @BeforeAll
+    void popular() throws Exception {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            Role admin = new Role();
+            admin.setNome("ROLE_ADMIN");
+            entityManager.persist(admin);
+
+            Endereco e = new Endereco();
+            e.setCep(1_000_000L);
+            e.setPais("Brasil");
+            e.setEstado("SP");
+            e.setCidade("São Paulo");
+            e.setBairro("Centro");
+            e.setNumero(1L);
+            e.setLogradouro("Rua");
+            entityManager.persist(e);
+
+            Funcionario f = new Funcionario();
+            f.setNome("Admin");
+            f.setCpf(CPF);
+            f.setSenha(passwordEncoder.encode(SENHA));
+            f.setEndereco(e);
+            f.setRoles(Set.of(admin));
+            entityManager.persist(f);
+
+            for (int i = 0; i < MOTOS; i++) {
+                entityManager.persist(moto(i));
+            }
+        });
+
+        MvcResult login = mvc.perform(post("/login").param("username", CPF).param("password", SENHA))
+                .andExpect(redirectedUrl("/home"))
+                .andReturn();
+        sessao = (MockHttpSession) login.getRequest().getSession();
+    }
+
+    @BeforeEach
+    void limpar() {
+        cachingService.limparCache();
+        entityManagerFactory.getCache().evictAll();
+        estatisticas.clear();
+    }
+
+    @Test
+    void nivERenavamRepetidosNaoVaoAoBanco() throws Exception {
+        mvc.perform(get("/motos/niv/{niv}", niv(1)).session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.placa").value(placa(1)));
+        mvc.perform(get("/motos/renavam/{renavam}", renavam(2)).session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.placa").value(placa(2)));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+
+        // Identificador -> placa no cache do Spring, moto no segundo nível
+        estatisticas.clear();
+        mvc.perform(get("/motos/niv/{niv}", niv(1).toLowerCase()).session(sessao))
+                .andExpect(jsonPath("$.placa").value(placa(1)));
+        mvc.perform(get("/motos/renavam/{renavam}", renavam(2)).session(sessao))
+                .andExpect(jsonPath("$.placa").value(placa(2)));
+        mvc.perform(get("/motos/{placa}", "ABC-1001").session(sessao))
+                .andExpect(jsonPath("$.niv").value(niv(1)));
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void loteBuscaSoAsPlacasForaDoSegundoNivel() throws Exception {
+        mvc.perform(get("/motos/{placa}", placa(0)).session(sessao)).andExpect(status().isOk());
+        estatisticas.clear();
+
+        mvc.perform(get("/motos/lote").param("placas", placa(3), placa(0), "XYZ9999", placa(4), placa(3)).session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.motos.length()").value(3))
+                .andExpect(jsonPath("$.motos[0].placa").value(placa(3)))
+                .andExpect(jsonPath("$.motos[1].placa").value(placa(0)))
+                .andExpect(jsonPath("$.naoEncontradas[0]").value("XYZ9999"));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void nivAlteradoNaoDevolveAMotoAntiga() throws Exception {
+        mvc.perform(get("/motos/niv/{niv}", niv(3)).session(sessao)).andExpect(status().isOk());
+
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.find(Moto.class, placa(3)).setNiv("9BWZZZ377VT009999"));
+
+        mvc.perform(get("/motos/niv/{niv}", niv(3)).session(sessao))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/motos/niv/{niv}", "9BWZZZ377VT009999").session(sessao))
+                .andExpect(jsonPath("$.placa").value(placa(3)));
+    }
+
+    private static Moto moto(int i) {
+        Moto m = new Moto();
+        m.setPlaca(placa(i));
+        m.setCpf(String.format("%011d", 100 + i));
+        m.setNiv(niv(i));
+        m.setMotor("CG1600" + i);
+        m.setRenavam(renavam(i));
+        m.setFipe(9_200L);
+        return m;
+    }
+
+    private static String placa(int i) {
+        return "ABC" + (1000 + i);
+    }
+
+    private static String niv(int i) {
+        return "9BWZZZ377VT00425" + i;
+    }
+
+    private static long renavam(int i) {
+        return 12_345_678L + i;
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Anel de retomada e filas por assinante do feed de alterações, sem HTTP
+class AlteracoesServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AlteracoesService service = new AlteracoesService(4, 3, 2, Duration.ofHours(1), registry);
+
+    @AfterEach
+    void encerrar() {
+        service.encerrar();
+    }
+
+    @Test
+    void retomaPeloAnelESegueAoVivo() throws Exception {
+        long inicio = service.ultimaSequencia();
+        service.criado(AlteracaoDTO.USUARIO, "1");
+        service.atualizado(AlteracaoDTO.USUARIO, "1");
+        service.criado(AlteracaoDTO.FUNCIONARIO, 7L);
+
+        Gravador gravador = new Gravador();
+        service.assinar(inicio + 1, null, gravador);
+        service.removido(AlteracaoDTO.USUARIO, "1");
+
+        assertThat(gravador.proximos(3)).containsExactly(
+                "alteracao:" + (inicio + 2) + ":usuario:1:ATUALIZADO",
+                "alteracao:" + (inicio + 3) + ":funcionario:7:CRIADO",
+                "alteracao:" + (inicio + 4) + ":usuario:1:REMOVIDO");
+    }
+
+    @Test
+    void sequenciaForaDoAnelPedeReinicio() throws Exception {
+        long inicio = service.ultimaSequencia();
+        for (int i = 0; i < 6; i++) service.criado(AlteracaoDTO.USUARIO, i);
+
+        Gravador gravador = new Gravador();
+        service.assinar(inicio, null, gravador);
+        service.criado(AlteracaoDTO.USUARIO, "novo");
+
+        assertThat(gravador.proximos(2)).containsExactly(
+                "reinicio:" + (inicio + 6),
+                "alteracao:" + (inicio + 7) + ":usuario:novo:CRIADO");
+    }
+
+    @Test
+    void sequenciaDeAntesDoInicioDestaExecucaoPedeReinicio() throws Exception {
+        long inicio = service.ultimaSequencia();
+        service.criado(AlteracaoDTO.USUARIO, "1");
+
+        // Ainda dentro do tamanho do anel, mas as posições antes do início nunca foram escritas
+        Gravador gravador = new Gravador();
+        service.assinar(inicio - 2, AlteracaoDTO.USUARIO, gravador);
+        service.criado(AlteracaoDTO.USUARIO, "2");
+
+        assertThat(gravador.proximos(2)).containsExactly(
+                "reinicio:" + (inicio + 1),
+                "alteracao:" + (inicio + 2) + ":usuario:2:CRIADO");
+    }
+
+    @Test
+    void filtraPorEntidade() throws Exception {
+        Gravador gravador = new Gravador();
+        service.assinar(null, AlteracaoDTO.FUNCIONARIO, gravador);
+        service.criado(AlteracaoDTO.USUARIO, "1");
+        AlteracaoDTO f = service.criado(AlteracaoDTO.FUNCIONARIO, 2L);
+
+        assertThat(gravador.proximos(1)).containsExactly("alteracao:" + f.sequencia() + ":funcionario:2:CRIADO");
+        assertThat(gravador.eventos.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void assinanteLentoNaoSeguraQuemPublicaEDesconectado() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch encerrado = new CountDownLatch(1);
+        Gravador lento = new Gravador() {
+            @Override
+            public void enviar(String evento, Long id, Object dados) throws java.io.IOException {
+                try {
+                    liberar.await();
+                } catch (InterruptedException ex) {
+                    throw new java.io.InterruptedIOException();
+                }
+                super.enviar(evento, id, dados);
+            }
+
+            @Override
+            public void encerrar() {
+                encerrado.countDown();
+            }
+        };
+        Gravador rapido = new Gravador();
+        service.assinar(null, null, lento);
+        service.assinar(null, null, rapido);
+
+        // 1 preso no envio + 3 na fila; o quinto não cabe. O rápido acompanha cada evento
+        long comeco = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            service.criado(AlteracaoDTO.USUARIO, i);
+            assertThat(rapido.proximos(1)).hasSize(1);
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - comeco)).isLessThan(Duration.ofSeconds(5));
+
+        assertThat(service.assinantes()).isEqualTo(1);
+        assertThat(registry.get("mottu.alteracoes.desconectados").counter().count()).isEqualTo(1);
+
+        liberar.countDown();
+        assertThat(encerrado.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static class Gravador implements AlteracoesService.Saida {
+        final BlockingQueue<String> eventos = new LinkedBlockingQueue<>();
+
+        @Override
+        public void enviar(String evento, Long id, Object dados) throws java.io.IOException {
+            if (dados instanceof AlteracaoDTO a) {
+                eventos.add(evento + ":" + a.sequencia() + ":" + a.entidade() + ":" + a.id() + ":" + a.tipo());
+            } else {
+                eventos.add(evento + ":" + id);
+            }
+        }
+
+        @Override
+        public void batimento() {
+        }
+
+        @Override
+        public void encerrar() {
+        }
+
+        List<String> proximos(int n) throws InterruptedException {
+            List<String> recebidos = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                String e = eventos.poll(5, TimeUnit.SECONDS);
+                if (e == null) break;
+                recebidos.add(e);
+            }
+            return recebidos;
+        }
+    }
+}
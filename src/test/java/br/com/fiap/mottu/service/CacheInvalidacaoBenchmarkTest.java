@@ -0,0 +1,110 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.cache.ConfiguravelCacheManager;
+import br.com.fiap.mottu.config.CacheProperties;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.repositories.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Compara a taxa de acerto da invalidação por chave com o antigo limparCache()
+// numa carga de 95% leituras / 5% escritas.
+@SpringJUnitConfig(CacheInvalidacaoBenchmarkTest.Config.class)
+class CacheInvalidacaoBenchmarkTest {
+
+    private static final int USUARIOS = 500;
+    private static final int OPERACOES = 50_000;
+
+    private static final AtomicInteger CARGAS = new AtomicInteger();
+    private static final List<Usuario> BASE = new ArrayList<>();
+
+    @Autowired
+    UsuarioCachingService cachingService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    void invalidacaoPorChaveTemTaxaDeAcertoMaiorQueLimparTudo() {
+        double limparTudo = simular(u -> cachingService.limparCache());
+        double porChave = simular(u -> cachingService.salvo(u));
+
+        assertThat(porChave).isGreaterThan(limparTudo);
+        assertThat(porChave).isGreaterThan(0.95);
+    }
+
+    private double simular(Consumer<Usuario> escrita) {
+        cacheManager.getCacheNames().forEach(n -> cacheManager.getCache(n).clear());
+        CARGAS.set(0);
+        Random random = new Random(42);
+        int leituras = 0;
+
+        for (int i = 0; i < OPERACOES; i++) {
+            Usuario u = BASE.get(random.nextInt(USUARIOS));
+            if (random.nextInt(100) < 5) {
+                escrita.accept(u);
+            } else if (random.nextInt(5) == 0) {
+                cachingService.cacheFindAll();
+                leituras++;
+            } else {
+                cachingService.findById(u.getCpf());
+                leituras++;
+            }
+        }
+        return 1.0 - (double) CARGAS.get() / leituras;
+    }
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConfiguravelCacheManager(new CacheProperties(), ConfiguravelCacheManager.nomesPadrao());
+        }
+
+        @Bean
+        UsuarioRepository usuarioRepository() {
+            for (int i = 0; i < USUARIOS; i++) {
+                Usuario u = new Usuario();
+                u.setCpf(String.format("%011d", i));
+                u.setNome("Usuario " + i);
+                BASE.add(u);
+            }
+            UsuarioRepository repository = mock(UsuarioRepository.class);
+            // Lista e CPF saem do mesmo diretório: cada carga lê a tabela inteira numa página
+            when(repository.diretorio(any(Limit.class))).thenAnswer(inv -> {
+                CARGAS.incrementAndGet();
+                return new ArrayList<>(BASE);
+            });
+            return repository;
+        }
+
+        @Bean
+        UsuarioCachingService usuarioCachingService() {
+            return new UsuarioCachingService();
+        }
+
+        @Bean
+        UsuarioBuscaService usuarioBuscaService() {
+            return new UsuarioBuscaService(null, null);
+        }
+    }
+}
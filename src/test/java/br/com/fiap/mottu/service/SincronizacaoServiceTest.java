@@ -0,0 +1,123 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.AlteracaoDTO;
+import br.com.fiap.mottu.dto.SincronizacaoDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import br.com.fiap.mottu.repositories.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// /changes devolve só o que mudou desde o token anterior, remoções inclusive.
+// MODE=Oracle: DATE com hora, como no banco real (no H2 padrão DATE não tem hora)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sincronizacao;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "mottu.sincronizacao.margem=0s"
+})
+@ActiveProfiles("test")
+class SincronizacaoServiceTest {
+
+    @Autowired
+    SincronizacaoService service;
+
+    @Autowired
+    UsuarioRepository repository;
+
+    @Test
+    void devolveSoAlteracoesERemocoesDesdeOToken() throws Exception {
+        for (int i = 0; i < 5; i++) repository.save(usuario(i, "Sincronizado " + i));
+        proximoSegundo();
+
+        // Carga completa em páginas de 2: cada usuário uma vez, mesmo no mesmo segundo
+        List<String> cpfs = new ArrayList<>();
+        String token = null;
+        SincronizacaoDTO<Usuario> pagina;
+        do {
+            pagina = service.usuarios(token, 2);
+            pagina.alterados().forEach(u -> cpfs.add(u.getCpf()));
+            token = pagina.proximo();
+        } while (!pagina.completo());
+        assertThat(cpfs).hasSize(5).doesNotHaveDuplicates();
+
+        // Nada mudou: resposta vazia
+        proximoSegundo();
+        pagina = service.usuarios(token, 2);
+        assertThat(pagina.alterados()).isEmpty();
+        assertThat(pagina.removidos()).isEmpty();
+        token = pagina.proximo();
+
+        Usuario alterado = repository.findById(cpf(1)).orElseThrow();
+        alterado.setNome("Renomeado");
+        repository.save(alterado);
+        repository.deleteById(cpf(3));
+        service.removido(AlteracaoDTO.USUARIO, cpf(3));
+        proximoSegundo();
+
+        pagina = service.usuarios(token, 2);
+        assertThat(pagina.completo()).isTrue();
+        assertThat(pagina.alterados()).extracting(Usuario::getNome).containsExactly("Renomeado");
+        assertThat(pagina.removidos()).containsExactly(cpf(3));
+
+        // CPF removido e cadastrado de novo: vale a linha atual
+        repository.save(usuario(3, "De volta"));
+        proximoSegundo();
+        pagina = service.usuarios(token, 2);
+        Set<String> removidos = new HashSet<>(pagina.removidos());
+        assertThat(removidos).isEmpty();
+        assertThat(pagina.alterados()).extracting(Usuario::getNome).containsExactlyInAnyOrder("Renomeado", "De volta");
+    }
+
+    @Test
+    void sinceInvalidoEhRecusado() {
+        assertThatThrownBy(() -> service.usuarios("ontem", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.funcionarios("2020-01-01T00:00:00Z", null).completo()).isTrue();
+    }
+
+    // A janela termina no segundo corrente (exclusivo), e DATE arredonda a fração de segundo
+    private static void proximoSegundo() throws InterruptedException {
+        Thread.sleep(2100);
+    }
+
+    private static String cpf(int i) {
+        return "8000000000" + i;
+    }
+
+    private static Usuario usuario(int i, String nome) {
+        Endereco e = new Endereco();
+        e.setCep(81_000_000L + i);
+        e.setPais("Brasil");
+        e.setEstado("SP");
+        e.setCidade("São Paulo");
+        e.setBairro("Centro");
+        e.setNumero((long) i + 1);
+        e.setLogradouro("Rua da Sincronização");
+
+        Moto m = new Moto();
+        m.setPlaca("SNC" + i + "A" + i + i);
+        m.setCpf(cpf(i));
+        m.setNiv("9BWZZZ377VT00426" + i);
+        m.setMotor("CG170" + i);
+        m.setRenavam(22_345_678L + i);
+        m.setFipe(9_200L);
+
+        Usuario u = new Usuario();
+        u.setCpf(cpf(i));
+        u.setNome(nome);
+        u.setDataNascimento(java.sql.Date.valueOf(LocalDate.of(1990, 1, 1 + i)));
+        u.setEndereco(e);
+        u.setPlaca(m);
+        return u;
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.BuscaPaginaDTO;
+import br.com.fiap.mottu.dto.UsuarioBuscaDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsuarioBuscaServiceTest {
+
+    private UsuarioBuscaService busca;
+
+    @BeforeEach
+    void indexar() {
+        busca = new UsuarioBuscaService(null, null);
+        busca.salvos(List.of(
+                usuario("00000000001", "João da Silva", "ABC1234", "São Paulo", "SP"),
+                usuario("00000000002", "Maria Joana Souza", "JOA1B23", "Campinas", "SP"),
+                usuario("00000000003", "Pedro Joaquim Pereira", "XYZ9876", "Rio de Janeiro", "RJ"),
+                usuario("00000000004", "Ana Santos", "DEF4567", "Joaçaba", "SC")));
+    }
+
+    @Test
+    void prefixoIgnoraAcentoEMaiusculas() {
+        assertThat(cpfs(busca.buscar("JOAO", null, 0, 20))).containsExactly("00000000001");
+        assertThat(cpfs(busca.buscar("sao", null, 0, 20))).containsExactly("00000000001");
+    }
+
+    @Test
+    void ordenaPorRelevancia() {
+        // Placa > primeiro nome > outro nome > cidade
+        assertThat(cpfs(busca.buscar("joa", null, 0, 20)))
+                .containsExactly("00000000002", "00000000001", "00000000003", "00000000004");
+    }
+
+    @Test
+    void todosOsTermosPrecisamCasarEEstadoFiltra() {
+        assertThat(cpfs(busca.buscar("jo paulo", null, 0, 20))).containsExactly("00000000001");
+        assertThat(cpfs(busca.buscar("joa", "rj", 0, 20))).containsExactly("00000000003");
+    }
+
+    @Test
+    void paginaSobreOResultadoOrdenado() {
+        BuscaPaginaDTO<UsuarioBuscaDTO> pagina = busca.buscar("joa", null, 1, 2);
+
+        assertThat(pagina.total()).isEqualTo(4);
+        assertThat(pagina.truncado()).isFalse();
+        assertThat(cpfs(pagina)).containsExactly("00000000003", "00000000004");
+    }
+
+    @Test
+    void paginaMuitoAlemDoResultadoSaiVazia() {
+        // (pagina + 1) * size passaria de Integer.MAX_VALUE
+        BuscaPaginaDTO<UsuarioBuscaDTO> pagina = busca.buscar("joa", null, 200_000_000, 20);
+        assertThat(pagina.itens()).isEmpty();
+        assertThat(pagina.total()).isEqualTo(4);
+
+        assertThat(busca.buscar("joa", null, Integer.MAX_VALUE, 100).itens()).isEmpty();
+        assertThat(busca.buscar("joa", null, 2, 2).itens()).isEmpty();
+    }
+
+    @Test
+    void escritasAtualizamOIndice() {
+        busca.salvo(usuario("00000000001", "Pedro da Silva", "ABC1234", "Santos", "SP"));
+        busca.removido("00000000003");
+
+        assertThat(cpfs(busca.buscar("joa", null, 0, 20))).containsExactly("00000000002", "00000000004");
+        assertThat(cpfs(busca.buscar("pedro santos", null, 0, 20))).containsExactly("00000000001");
+        assertThat(busca.tamanho()).isEqualTo(3);
+    }
+
+    private static List<String> cpfs(BuscaPaginaDTO<UsuarioBuscaDTO> pagina) {
+        return pagina.itens().stream().map(UsuarioBuscaDTO::cpf).toList();
+    }
+
+    private static Usuario usuario(String cpf, String nome, String placa, String cidade, String estado) {
+        Endereco e = new Endereco();
+        e.setCidade(cidade);
+        e.setEstado(estado);
+
+        Moto m = new Moto();
+        m.setPlaca(placa);
+
+        Usuario u = new Usuario();
+        u.setCpf(cpf);
+        u.setNome(nome);
+        u.setEndereco(e);
+        u.setPlaca(m);
+        return u;
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsuarioExportacaoServiceTest {
+
+    private static final int LINHAS = 50_000;
+
+    // A memória fica constante porque cada linha escrita sai do contexto de persistência;
+    // o teste confere isso pelas chamadas, sem medir o heap (que depende do GC)
+    @Test
+    void exportacaoDesanexaCadaLinhaEscrita() throws Exception {
+        UsuarioExportacaoService service = new UsuarioExportacaoService(null, null, new ObjectMapper());
+        AtomicLong desanexados = new AtomicLong();
+
+        Stream<Usuario> usuarios = LongStream.range(0, LINHAS).mapToObj(UsuarioExportacaoServiceTest::usuario);
+
+        ContadorDeBytes saida = new ContadorDeBytes();
+        long linhas = service.escrever(usuarios, saida, u -> desanexados.incrementAndGet());
+
+        assertThat(linhas).isEqualTo(LINHAS);
+        assertThat(desanexados.get()).isEqualTo(LINHAS);
+        assertThat(saida.linhas).isEqualTo(LINHAS);
+    }
+
+    private static Usuario usuario(long i) {
+        Endereco e = new Endereco();
+        e.setCep(10_000_000 + i);
+        e.setPais("Brasil " + i);
+        e.setEstado("SP");
+        e.setCidade("São Paulo " + i);
+        e.setBairro("Centro " + i);
+        e.setNumero(i);
+        e.setLogradouro("Av. Principal " + i);
+
+        Moto m = new Moto();
+        m.setPlaca("ABC" + i);
+        m.setCpf(String.format("%011d", i));
+        m.setNiv("9BWZZZ377VT" + i);
+        m.setMotor("CG" + i);
+        m.setRenavam(12_345_678L + i);
+        m.setFipe(9_200L);
+
+        Usuario u = new Usuario();
+        u.setCpf(String.format("%011d", i));
+        u.setNome("Usuário " + i);
+        u.setDataNascimento(new Date(0));
+        u.setEndereco(e);
+        u.setPlaca(m);
+        return u;
+    }
+
+    private static class ContadorDeBytes extends OutputStream {
+        long linhas;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') linhas++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') linhas++;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.ImportacaoErroDTO;
+import br.com.fiap.mottu.dto.ImportacaoResultadoDTO;
+import br.com.fiap.mottu.models.Usuario;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Um lote com linhas boas e ruins: cada linha ruim recebe um único erro, e uma linha
+// recusada pelo banco não leva as outras do lote junto
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:importacao;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class UsuarioImportacaoServiceTest {
+
+    private static final String CABECALHO =
+            "cpf,nome,dataNascimento,cep,pais,estado,cidade,bairro,numero,logradouro,placa,niv,motor,renavam,fipe\n";
+
+    @Autowired
+    UsuarioImportacaoService service;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void loteMistoRejeitaSoAsLinhasRuins() throws Exception {
+        importar(linha("70000000099", "Existente", "IMP0099", "12345678"));
+
+        // Nome acima das 255 posições da coluna: passa na validação, mas o banco recusa
+        String nomeLongo = "N".repeat(300);
+        ImportacaoResultadoDTO resultado = importar(
+                linha("70000000001", "Primeiro", "IMP0001", "12345678")
+                        + linha("70000000002", "Segundo", "IMP0002", "12345678")
+                        + linha("700.000.000-01", "CPF repetido no arquivo", "IMP0003", "12345678")
+                        + linha("70000000005", "Placa repetida no arquivo", "IMP0002", "12345678")
+                        + linha("70000000099", "CPF já no banco", "IMP0006", "12345678")
+                        + linha("70000000007", "Renavam inválido", "IMP0007", "abc")
+                        + linha("70000000008", nomeLongo, "IMP0008", "12345678")
+                        + linha("70000000009", "Último", "IMP0009", "12345678"));
+
+        assertThat(resultado.linhas()).isEqualTo(8);
+        assertThat(resultado.importados()).isEqualTo(3);
+        assertThat(resultado.erros()).extracting(ImportacaoErroDTO::linha).containsExactly(4L, 5L, 6L, 7L, 8L);
+        assertThat(resultado.erros()).extracting(ImportacaoErroDTO::mensagem)
+                .startsWith("CPF já cadastrado.", "Placa já cadastrada.", "CPF já cadastrado.",
+                        "Campo renavam deve ser numérico: abc");
+        assertThat(resultado.erros().get(4).mensagem()).startsWith("Falha ao gravar: ");
+
+        for (String cpf : new String[]{"70000000001", "70000000002", "70000000009"}) {
+            assertThat(usuario(cpf)).isNotNull();
+        }
+        assertThat(usuario("70000000008")).isNull();
+        assertThat(usuario("70000000099").getNome()).isEqualTo("Existente");
+    }
+
+    private ImportacaoResultadoDTO importar(String linhas) throws Exception {
+        return service.importarCsv(new ByteArrayInputStream((CABECALHO + linhas).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Um CEP por usuário (NR_CEP é único em T_MT_USUARIO), derivado da placa
+    private static String linha(String cpf, String nome, String placa, String renavam) {
+        return String.join(",", cpf, nome, "1990-01-01", "300" + placa.substring(3), "Brasil", "SP", "São Paulo", "Centro", "1",
+                "Rua", placa, "9BWZZZ377VT004251", "CG1600", renavam, "9200") + "\n";
+    }
+
+    private Usuario usuario(String cpf) {
+        return transactionTemplate.execute(status -> entityManager.find(Usuario.class, cpf));
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.fiap.mottu.service;
+
+import br.com.fiap.mottu.dto.CursorPaginaDTO;
+import br.com.fiap.mottu.dto.UsuarioResumoDTO;
+import br.com.fiap.mottu.models.Endereco;
+import br.com.fiap.mottu.models.Moto;
+import br.com.fiap.mottu.models.Usuario;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Listagem da tela por chave: percorrer todas as páginas de uma ordenação devolve cada
+// usuário uma vez, na ordem certa, mesmo com valores repetidos na coluna ordenada
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UsuarioListagemTest {
+
+    @Autowired
+    UsuarioService service;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void popular() {
+        String[] nomes = {"Listagem Beta", "listagem alfa", "Listagem Beta", "Listagem Gama", "LISTAGEM delta", "Listagem Beta", "Outro Nome"};
+        String[] nascimentos = {"1990-05-01", "1985-01-10", "1990-05-01", "2000-12-31", "1979-03-15", "1990-05-01", "1995-07-07"};
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < nomes.length; i++) {
+                entityManager.persist(usuario(i, nomes[i], nascimentos[i]));
+            }
+        });
+    }
+
+    @Test
+    void paginasPorNomeNaoRepetemNemPulamEmpates() {
+        List<UsuarioResumoDTO> todos = percorrer("nome", false, "nome", "listagem", 2);
+
+        assertThat(todos).extracting(UsuarioResumoDTO::cpf)
+                .containsExactly("90000000004", "90000000000", "90000000002", "90000000005", "90000000003", "90000000001");
+    }
+
+    @Test
+    void ordemDecrescentePorNascimento() {
+        List<UsuarioResumoDTO> todos = percorrer("nascimento", true, "cpf", "9000000000", 2);
+
+        assertThat(todos).extracting(UsuarioResumoDTO::cpf)
+                .containsExactly("90000000003", "90000000006", "90000000005", "90000000002", "90000000000",
+                        "90000000001", "90000000004");
+    }
+
+    @Test
+    void filtroPorPlacaContaSoOsFiltrados() {
+        CursorPaginaDTO<UsuarioResumoDTO> pagina = service.paginarResumo(null, 10, "cpf", false, "placa", "LST0A0", true);
+
+        assertThat(pagina.total()).isEqualTo(1);
+        assertThat(pagina.itens()).extracting(UsuarioResumoDTO::placa).containsExactly("LST0A00");
+        assertThat(pagina.proximoCursor()).isNull();
+    }
+
+    @Test
+    void cursorDeOutraOrdenacaoEhRecusado() {
+        String cursor = service.paginarResumo(null, 1, "nome", false, "nome", "listagem", false).proximoCursor();
+
+        assertThatThrownBy(() -> service.paginarResumo(cursor, 1, "nascimento", false, "nome", "listagem", false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.paginarResumo(null, 1, "endereco", false, "nome", null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<UsuarioResumoDTO> percorrer(String ordem, boolean decrescente, String campo, String filtro, int tamanho) {
+        List<UsuarioResumoDTO> todos = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPaginaDTO<UsuarioResumoDTO> pagina = service.paginarResumo(cursor, tamanho, ordem, decrescente, campo, filtro, false);
+            assertThat(pagina.itens()).hasSizeLessThanOrEqualTo(tamanho);
+            todos.addAll(pagina.itens());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+        return todos;
+    }
+
+    private static Usuario usuario(int i, String nome, String nascimento) {
+        Endereco e = new Endereco();
+        e.setCep(91_000_000L + i);
+        e.setPais("Brasil");
+        e.setEstado("SP");
+        e.setCidade("São Paulo");
+        e.setBairro("Centro");
+        e.setNumero((long) i + 1);
+        e.setLogradouro("Rua da Listagem");
+
+        Moto m = new Moto();
+        m.setPlaca("LST" + i + "A" + i + i);
+        m.setCpf("9000000000" + i);
+        m.setNiv("9BWZZZ377VT00425" + i);
+        m.setMotor("CG160" + i);
+        m.setRenavam(12_345_678L + i);
+        m.setFipe(9_200L);
+
+        Usuario u = new Usuario();
+        u.setCpf("9000000000" + i);
+        u.setNome(nome);
+        u.setDataNascimento(java.sql.Date.valueOf(LocalDate.parse(nascimento)));
+        u.setEndereco(e);
+        u.setPlaca(m);
+        return u;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.fiap.mottu.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CpfTest {
+
+    @Test
+    void formatosAceitosViramOMesmoNumero() {
+        assertThat(Cpf.numero("123.456.789-01")).isEqualTo(12_345_678_901L);
+        assertThat(Cpf.numero("12345678901")).isEqualTo(12_345_678_901L);
+        assertThat(Cpf.numero(" 012.345.678-90 ")).isEqualTo(1_234_567_890L);
+        assertThat(Cpf.texto(1_234_567_890L)).isEqualTo("01234567890");
+        assertThat(Cpf.normalizar("012.345.678-90")).isEqualTo("01234567890");
+    }
+
+    @Test
+    void invalidoNaoViraChave() {
+        assertThat(Cpf.numeroOu("1234567890", Cpf.INVALIDO)).isEqualTo(Cpf.INVALIDO);
+        assertThat(Cpf.numeroOu("123456789012", Cpf.INVALIDO)).isEqualTo(Cpf.INVALIDO);
+        assertThat(Cpf.numeroOu("123.456.789/01", Cpf.INVALIDO)).isEqualTo(Cpf.INVALIDO);
+        assertThat(Cpf.numeroOu(null, Cpf.INVALIDO)).isEqualTo(Cpf.INVALIDO);
+        // A validação do cadastro é que recusa o valor
+        assertThat(Cpf.normalizar("abc")).isEqualTo("abc");
+        assertThatThrownBy(() -> Cpf.numero("")).isInstanceOf(IllegalArgumentException.class);
+    }
+}